@@ -63,6 +63,8 @@ public class WireMockServer implements Container, Stubbing, Admin {
 
   protected final WireMock client;
 
+  private StubMappingJsonRecorder mappingJsonRecorder;
+
   public WireMockServer(Options options) {
     this.options = options;
     this.notifier = options.notifier();
@@ -138,17 +140,20 @@ public class WireMockServer implements Container, Stubbing, Admin {
   }
 
   public void enableRecordMappings(FileSource mappingsFileSource, FileSource filesFileSource) {
-    addMockServiceRequestListener(
+    mappingJsonRecorder =
         new StubMappingJsonRecorder(
             new FileSourceBlobStore(mappingsFileSource),
             new FileSourceBlobStore(filesFileSource),
-            wireMockApp,
-            options.matchingHeaders()));
+            options.matchingHeaders());
+    addMockServiceRequestListener(mappingJsonRecorder);
     notifier.info("Recording mappings to " + mappingsFileSource.getPath());
   }
 
   public void stop() {
     httpServer.stop();
+    if (mappingJsonRecorder != null) {
+      mappingJsonRecorder.flush();
+    }
   }
 
   public void start() {
@@ -362,16 +367,25 @@ public class WireMockServer implements Container, Stubbing, Admin {
   @Override
   public void resetAll() {
     wireMockApp.resetAll();
+    resetRecordedRequests();
   }
 
   @Override
   public void resetRequests() {
     wireMockApp.resetRequests();
+    resetRecordedRequests();
   }
 
   @Override
   public void resetToDefaultMappings() {
     wireMockApp.resetToDefaultMappings();
+    resetRecordedRequests();
+  }
+
+  private void resetRecordedRequests() {
+    if (mappingJsonRecorder != null) {
+      mappingJsonRecorder.reset();
+    }
   }
 
   @Override
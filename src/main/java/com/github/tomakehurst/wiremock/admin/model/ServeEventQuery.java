@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2016-2022 Thomas Akehurst
+ * Copyright (C) 2016-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,18 +15,24 @@
  */
 package com.github.tomakehurst.wiremock.admin.model;
 
+import static com.github.tomakehurst.wiremock.common.ParameterUtils.checkParameter;
 import static java.util.stream.Collectors.toList;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.tomakehurst.wiremock.admin.Conversions;
 import com.github.tomakehurst.wiremock.common.Errors;
 import com.github.tomakehurst.wiremock.common.InvalidParameterException;
 import com.github.tomakehurst.wiremock.http.QueryParameter;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class ServeEventQuery {
 
@@ -48,7 +54,12 @@ public class ServeEventQuery {
     final QueryParameter stubParameter = request.queryParameter("matchingStub");
     UUID stubMappingId = toUuid(stubParameter);
 
-    return new ServeEventQuery(unmatched, stubMappingId);
+    return new ServeEventQuery(
+        unmatched,
+        stubMappingId,
+        Conversions.toInt(request.queryParameter("limit")),
+        Conversions.toInt(request.queryParameter("offset")),
+        Conversions.toDate(request.queryParameter("since")));
   }
 
   private static UUID toUuid(QueryParameter parameter) {
@@ -68,12 +79,28 @@ public class ServeEventQuery {
 
   private final boolean onlyUnmatched;
   private final UUID stubMappingId;
+  private final Integer limit;
+  private final Integer offset;
+  private final Date since;
 
+  public ServeEventQuery(boolean onlyUnmatched, UUID stubMappingId) {
+    this(onlyUnmatched, stubMappingId, null, null, null);
+  }
+
+  @JsonCreator
   public ServeEventQuery(
       @JsonProperty("onlyUnmatched") boolean onlyUnmatched,
-      @JsonProperty("stubMappingId") UUID stubMappingId) {
+      @JsonProperty("stubMappingId") UUID stubMappingId,
+      @JsonProperty("limit") Integer limit,
+      @JsonProperty("offset") Integer offset,
+      @JsonProperty("since") Date since) {
+    checkParameter(limit == null || limit >= 0, "limit must be 0 or greater");
+    checkParameter(offset == null || offset >= 0, "offset must be 0 or greater");
     this.onlyUnmatched = onlyUnmatched;
     this.stubMappingId = stubMappingId;
+    this.limit = limit;
+    this.offset = offset;
+    this.since = since;
   }
 
   public boolean isOnlyUnmatched() {
@@ -84,8 +111,37 @@ public class ServeEventQuery {
     return stubMappingId;
   }
 
+  public Integer getLimit() {
+    return limit;
+  }
+
+  public Integer getOffset() {
+    return offset;
+  }
+
+  public Date getSince() {
+    return since;
+  }
+
+  public ServeEventQuery withPage(Integer limit, Integer offset, Date since) {
+    return new ServeEventQuery(onlyUnmatched, stubMappingId, limit, offset, since);
+  }
+
+  @JsonIgnore
+  public boolean isFiltered() {
+    return onlyUnmatched || stubMappingId != null;
+  }
+
   public List<ServeEvent> filter(List<ServeEvent> events) {
-    if (!onlyUnmatched && stubMappingId == null) {
+    if (!isFiltered()) {
+      return events;
+    }
+
+    return filter(events.stream()).collect(toList());
+  }
+
+  public Stream<ServeEvent> filter(Stream<ServeEvent> events) {
+    if (!isFiltered()) {
       return events;
     }
 
@@ -99,6 +155,25 @@ public class ServeEventQuery {
                     && serveEvent.getStubMapping().getId().equals(stubMappingId)
             : serveEvent -> true;
 
-    return events.stream().filter(matchPredicate).filter(stubPredicate).collect(toList());
+    return events.filter(matchPredicate).filter(stubPredicate);
+  }
+
+  /**
+   * Selects the page of the given events, newest first, that were logged after this query's date
+   * and fall within its offset and limit. The events are consumed lazily, so no more of the stream
+   * is read than is needed to fill the page.
+   */
+  public Stream<ServeEvent> page(Stream<ServeEvent> events) {
+    Stream<ServeEvent> page =
+        since != null
+            ? events.filter(event -> event.getRequest().getLoggedDate().after(since))
+            : events;
+    if (offset != null) {
+      page = page.skip(offset);
+    }
+    if (limit != null) {
+      page = page.limit(limit);
+    }
+    return page;
   }
 }
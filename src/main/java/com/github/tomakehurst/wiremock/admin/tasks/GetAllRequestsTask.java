@@ -21,7 +21,6 @@ import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
 import static java.net.HttpURLConnection.HTTP_OK;
 
 import com.github.tomakehurst.wiremock.admin.AdminTask;
-import com.github.tomakehurst.wiremock.admin.LimitAndSinceDatePaginator;
 import com.github.tomakehurst.wiremock.admin.model.GetServeEventsResult;
 import com.github.tomakehurst.wiremock.admin.model.ServeEventQuery;
 import com.github.tomakehurst.wiremock.common.InvalidInputException;
@@ -35,23 +34,18 @@ public class GetAllRequestsTask implements AdminTask {
 
   @Override
   public ResponseDefinition execute(Admin admin, ServeEvent serveEvent, PathParams pathParams) {
-    ServeEventQuery query = ServeEventQuery.fromRequest(serveEvent.getRequest());
-    GetServeEventsResult serveEventsResult = admin.getServeEvents(query);
-    LimitAndSinceDatePaginator paginator;
+    ServeEventQuery query;
     try {
-      paginator =
-          LimitAndSinceDatePaginator.fromRequest(
-              serveEventsResult.getRequests(), serveEvent.getRequest());
+      query = ServeEventQuery.fromRequest(serveEvent.getRequest());
     } catch (InvalidInputException e) {
       return jsonResponse(e.getErrors(), HTTP_BAD_REQUEST);
     }
 
-    GetServeEventsResult result =
-        new GetServeEventsResult(paginator, serveEventsResult.isRequestJournalDisabled());
+    GetServeEventsResult result = admin.getServeEvents(query);
 
     return responseDefinition()
         .withStatus(HTTP_OK)
-        .withBody(Json.write(result))
+        .withBody(Json.writeBytes(result))
         .withHeader("Content-Type", "application/json")
         .build();
   }
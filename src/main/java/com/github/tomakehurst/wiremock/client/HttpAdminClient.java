@@ -232,6 +232,15 @@ public class HttpAdminClient implements Admin {
     if (query.getStubMappingId() != null) {
       queryParams.add("matchingStub", query.getStubMappingId().toString());
     }
+    if (query.getLimit() != null) {
+      queryParams.add("limit", String.valueOf(query.getLimit()));
+    }
+    if (query.getOffset() != null) {
+      queryParams.add("offset", String.valueOf(query.getOffset()));
+    }
+    if (query.getSince() != null) {
+      queryParams.add("since", query.getSince().toInstant().toString());
+    }
 
     return executeRequest(
         adminRoutes.requestSpecForTask(GetAllRequestsTask.class),
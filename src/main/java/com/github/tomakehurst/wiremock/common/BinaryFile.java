@@ -17,6 +17,7 @@ package com.github.tomakehurst.wiremock.common;
 
 import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -37,6 +38,23 @@ public class BinaryFile implements InputStreamSource {
     }
   }
 
+  /**
+   * The time the file was last modified in milliseconds since the epoch, or 0 if this isn't known,
+   * e.g. because the file is held in an archive.
+   */
+  public long lastModified() {
+    final File localFile = getLocalFile();
+    return localFile != null ? localFile.lastModified() : 0L;
+  }
+
+  /**
+   * The file on the local file system holding the contents, or null if there isn't one, e.g.
+   * because it's held in an archive.
+   */
+  public File getLocalFile() {
+    return uri != null && "file".equals(uri.getScheme()) ? new File(uri) : null;
+  }
+
   protected URI getUri() {
     return uri;
   }
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Wraps a stream that can only be read once, e.g. the body of a proxied response, so that it can be
+ * sent on without first being held in memory. Up to a fixed number of bytes from the start of the
+ * stream are captured as they're streamed, so that they can be read any number of times afterwards,
+ * e.g. to be recorded in the request journal. Asking for them before the stream is opened reads
+ * them ahead, and they're then replayed at the start of the stream.
+ *
+ * <p>The stream itself can only be opened once, unless it was short enough to be captured in full.
+ * The underlying stream and its owner are closed when it has been read to the end or closed.
+ */
+public class CapturingInputStreamSource implements InputStreamSource, Closeable {
+
+  private final InputStream source;
+  private final Closeable owner;
+  private final int maxCapturedBytes;
+
+  private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+  private boolean exhausted;
+  private boolean truncated;
+  private boolean streamed;
+  private boolean closed;
+
+  public CapturingInputStreamSource(InputStream source, Closeable owner, int maxCapturedBytes) {
+    this.source = source;
+    this.owner = owner;
+    this.maxCapturedBytes = maxCapturedBytes;
+  }
+
+  /**
+   * Gets the bytes from the start of the stream, up to the size limit and the maximum number of
+   * bytes that can be captured. Before the stream has been opened only the bytes still needed are
+   * read from the underlying stream. Afterwards, only the bytes that have been streamed so far are
+   * available.
+   */
+  public synchronized byte[] getCaptured(Limit sizeLimit) {
+    final int length =
+        sizeLimit == null || sizeLimit.isUnlimited()
+            ? maxCapturedBytes
+            : Math.min(sizeLimit.getValue(), maxCapturedBytes);
+    if (!streamed) {
+      captureUpTo(length);
+    }
+
+    final byte[] bytes = captured.toByteArray();
+    return bytes.length > length ? Arrays.copyOf(bytes, length) : bytes;
+  }
+
+  /**
+   * Whether the captured bytes are the whole stream, i.e. it has been read to the end and it was
+   * no longer than the maximum number of bytes that can be captured.
+   */
+  public synchronized boolean isCapturedInFull() {
+    return exhausted && !truncated && captured.size() <= maxCapturedBytes;
+  }
+
+  /**
+   * Reads the whole stream into memory to find its length. Only needed when the length can't be
+   * found any other way, since it gives up the benefit of streaming.
+   */
+  public synchronized long length() {
+    if (!exhausted) {
+      if (streamed) {
+        throw new IllegalStateException("The stream has already been read");
+      }
+
+      captureUpTo(Integer.MAX_VALUE);
+    }
+
+    return captured.size();
+  }
+
+  @Override
+  public synchronized InputStream getStream() {
+    if (exhausted && !truncated) {
+      return new ByteArrayInputStream(captured.toByteArray());
+    }
+
+    if (streamed) {
+      throw new IllegalStateException("The stream has already been read");
+    }
+
+    streamed = true;
+    return new CapturingStream(captured.toByteArray());
+  }
+
+  /** Closes the underlying stream and its owner, whether or not the stream has been read. */
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+    try {
+      source.close();
+    } finally {
+      owner.close();
+    }
+  }
+
+  private void captureUpTo(int length) {
+    if (exhausted || closed || captured.size() >= length) {
+      return;
+    }
+
+    try {
+      captured.write(source.readNBytes(length - captured.size()));
+      if (captured.size() < length) {
+        exhausted = true;
+        close();
+      }
+    } catch (IOException e) {
+      throwUnchecked(e);
+    }
+  }
+
+  private synchronized void streamedThrough(byte[] bytes, int offset, int length) {
+    final int room = maxCapturedBytes - captured.size();
+    if (room > 0) {
+      captured.write(bytes, offset, Math.min(length, room));
+    }
+    if (length > room) {
+      truncated = true;
+    }
+  }
+
+  private synchronized void streamedToEnd() throws IOException {
+    exhausted = true;
+    close();
+  }
+
+  // Replays anything read ahead, then captures bytes from the underlying stream as they're read
+  private class CapturingStream extends InputStream {
+
+    private final byte[] readAhead;
+    private int position;
+    private boolean ended;
+
+    CapturingStream(byte[] readAhead) {
+      this.readAhead = readAhead;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final byte[] single = new byte[1];
+      final int read = read(single, 0, 1);
+      return read == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (ended) {
+        return -1;
+      }
+      if (length == 0) {
+        return 0;
+      }
+
+      if (position < readAhead.length) {
+        final int count = Math.min(length, readAhead.length - position);
+        System.arraycopy(readAhead, position, bytes, offset, count);
+        position += count;
+        return count;
+      }
+
+      final int read = source.read(bytes, offset, length);
+      if (read == -1) {
+        ended = true;
+        streamedToEnd();
+      } else {
+        streamedThrough(bytes, offset, read);
+      }
+      return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+      if (ended) {
+        return 0;
+      }
+
+      return position < readAhead.length ? readAhead.length - position : source.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+      CapturingInputStreamSource.this.close();
+    }
+  }
+}
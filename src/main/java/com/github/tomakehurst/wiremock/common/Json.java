@@ -95,6 +95,22 @@ public final class Json {
     }
   }
 
+  /**
+   * Writes the same pretty printed JSON as {@link #write(Object)}, but generates the UTF-8 bytes
+   * directly rather than building an intermediate String, which halves the memory needed for large
+   * results.
+   */
+  public static <T> byte[] writeBytes(T object) {
+    try {
+      return getObjectMapper()
+          .writerWithDefaultPrettyPrinter()
+          .withView(PublicView.class)
+          .writeValueAsBytes(object);
+    } catch (IOException ioe) {
+      return throwUnchecked(ioe, byte[].class);
+    }
+  }
+
   public static ObjectMapper getObjectMapper() {
     return objectMapperHolder.get();
   }
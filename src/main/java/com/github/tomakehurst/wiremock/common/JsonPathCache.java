@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * A bounded cache of compiled JSONPath expressions, shared by everything that evaluates
+ * expressions given as strings. Compiled expressions are immutable and so safe to share between
+ * threads. Invalid expressions aren't cached, so compiling one throws every time.
+ */
+public final class JsonPathCache {
+
+  private static final Cache<String, JsonPath> CACHE =
+      CacheBuilder.newBuilder().maximumSize(1000).build();
+
+  public static JsonPath compile(String expression) {
+    final JsonPath cached = CACHE.getIfPresent(expression);
+    if (cached != null) {
+      return cached;
+    }
+
+    final JsonPath compiled = JsonPath.compile(expression);
+    CACHE.put(expression, compiled);
+    return compiled;
+  }
+
+  private JsonPathCache() {
+    throw new UnsupportedOperationException("Not instantiable");
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+/**
+ * Controls how the diff report for unmatched requests is produced. By default it's rendered on the
+ * request thread for every unmatched request and returned as the body of the 404 response. When
+ * rendered asynchronously, or when the per-second limit has been reached, the client gets a plain
+ * 404 and the diff, if any, is only available from the request journal.
+ */
+public class NotMatchedDiffSettings {
+
+  public static final NotMatchedDiffSettings DEFAULTS =
+      new NotMatchedDiffSettings(false, Limit.UNLIMITED);
+
+  private final boolean asynchronous;
+  private final Limit maxPerSecond;
+
+  public NotMatchedDiffSettings(boolean asynchronous, Limit maxPerSecond) {
+    if (!maxPerSecond.isUnlimited() && maxPerSecond.getValue() < 1) {
+      throw new IllegalArgumentException(
+          "Maximum number of not matched diffs per second must be greater than zero");
+    }
+
+    this.asynchronous = asynchronous;
+    this.maxPerSecond = maxPerSecond;
+  }
+
+  public boolean isAsynchronous() {
+    return asynchronous;
+  }
+
+  public Limit getMaxPerSecond() {
+    return maxPerSecond;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+/**
+ * Controls whether proxied response bodies are streamed to the client as they arrive from the
+ * target, rather than being read into memory first. When streaming, only the first part of the
+ * body, up to the maximum captured size, is available to the request journal, recorder and any
+ * extensions that read the response body.
+ */
+public class ProxyStreamingSettings {
+
+  public static final int DEFAULT_MAX_CAPTURED_BODY_SIZE = 1024 * 1024;
+
+  public static final ProxyStreamingSettings DEFAULTS =
+      new ProxyStreamingSettings(false, DEFAULT_MAX_CAPTURED_BODY_SIZE);
+
+  private final boolean enabled;
+  private final int maxCapturedBodySize;
+
+  public ProxyStreamingSettings(boolean enabled, int maxCapturedBodySize) {
+    if (maxCapturedBodySize < 0) {
+      throw new IllegalArgumentException("Maximum captured body size must not be negative");
+    }
+
+    this.enabled = enabled;
+    this.maxCapturedBodySize = maxCapturedBodySize;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getMaxCapturedBodySize() {
+    return maxCapturedBodySize;
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2018-2022 Thomas Akehurst
+ * Copyright (C) 2018-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,9 +15,14 @@
  */
 package com.github.tomakehurst.wiremock.common;
 
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
 import com.github.tomakehurst.wiremock.admin.NotFoundException;
 import com.github.tomakehurst.wiremock.store.BlobStore;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 
@@ -32,6 +37,10 @@ public class StreamSources {
     return new ByteArrayInputStreamSource(bytes);
   }
 
+  public static InputStreamSource forFile(final File file) {
+    return new FileInputStreamSource(file);
+  }
+
   public static InputStreamSource forBlobStoreItem(BlobStore blobStore, String key) {
     return () ->
         blobStore
@@ -60,6 +69,32 @@ public class StreamSources {
     }
   }
 
+  /**
+   * A source backed by a file on the local file system, which allows its length to be found and its
+   * contents to be sent without first reading them into memory.
+   */
+  public static class FileInputStreamSource implements InputStreamSource {
+
+    private final File file;
+
+    public FileInputStreamSource(File file) {
+      this.file = file;
+    }
+
+    public File getFile() {
+      return file;
+    }
+
+    @Override
+    public InputStream getStream() {
+      try {
+        return new FileInputStream(file);
+      } catch (IOException e) {
+        return throwUnchecked(e, InputStream.class);
+      }
+    }
+  }
+
   public static InputStreamSource empty() {
     return forBytes(new byte[0]);
   }
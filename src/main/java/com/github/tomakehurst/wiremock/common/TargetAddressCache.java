@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether outbound requests (proxying, webhooks) may be sent to a host under a set of
+ * {@link NetworkAddressRules}, caching the host's resolved addresses and the verdict for each set
+ * of rules for a limited time. A host is only allowed if it resolves and every address it resolves
+ * to is allowed, exactly as when the rules are evaluated directly. Failed lookups are cached for
+ * their own, usually shorter, time. A TTL of zero disables the corresponding caching.
+ *
+ * <p>HTTP clients should connect to the addresses returned by {@code resolveAllowed} rather than
+ * resolving the host again themselves, otherwise a host whose DNS record changes between the check
+ * and the connection could reach a denied address.
+ */
+public class TargetAddressCache {
+
+  public static final long DEFAULT_TTL_MILLIS = 30_000;
+  public static final long DEFAULT_NEGATIVE_TTL_MILLIS = 10_000;
+
+  static final int MAX_ENTRIES = 10_000;
+
+  public static final TargetAddressCache DEFAULT =
+      new TargetAddressCache(DEFAULT_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+
+  private final long ttlMillis;
+  private final long negativeTtlMillis;
+  private final HostResolver resolver;
+  private final LongSupplier clock;
+  private final Cache<String, Resolution> resolutions;
+
+  public TargetAddressCache(long ttlMillis, long negativeTtlMillis) {
+    this(ttlMillis, negativeTtlMillis, InetAddress::getAllByName, System::currentTimeMillis);
+  }
+
+  TargetAddressCache(
+      long ttlMillis, long negativeTtlMillis, HostResolver resolver, LongSupplier clock) {
+    if (ttlMillis < 0 || negativeTtlMillis < 0) {
+      throw new IllegalArgumentException("Target address cache TTLs must not be negative");
+    }
+
+    this.ttlMillis = ttlMillis;
+    this.negativeTtlMillis = negativeTtlMillis;
+    this.resolver = resolver;
+    this.clock = clock;
+    this.resolutions = CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).build();
+  }
+
+  public long getTtlMillis() {
+    return ttlMillis;
+  }
+
+  public long getNegativeTtlMillis() {
+    return negativeTtlMillis;
+  }
+
+  public boolean isAllowed(String host, NetworkAddressRules rules) {
+    return resolutionOf(host).isAllowedBy(rules);
+  }
+
+  /**
+   * Returns the addresses of the host that were checked against the rules, for use when connecting
+   * to it. Hosts that don't resolve or that resolve to any denied address are reported as unknown.
+   */
+  public InetAddress[] resolveAllowed(String host, NetworkAddressRules rules)
+      throws UnknownHostException {
+    final Resolution resolution = resolutionOf(host);
+    if (!resolution.isAllowedBy(rules)) {
+      throw new UnknownHostException(
+          resolution.addresses == null ? host : host + " resolves to a denied address");
+    }
+
+    return resolution.addresses.clone();
+  }
+
+  public void clear() {
+    resolutions.invalidateAll();
+  }
+
+  private Resolution resolutionOf(String host) {
+    if (host == null || (ttlMillis == 0 && negativeTtlMillis == 0)) {
+      return resolve(host);
+    }
+
+    while (true) {
+      final Resolution resolution;
+      try {
+        // Concurrent lookups of the same host wait for a single resolution
+        resolution = resolutions.get(host, () -> resolve(host));
+      } catch (ExecutionException e) {
+        return throwUnchecked(e.getCause(), Resolution.class);
+      }
+
+      if (clock.getAsLong() < resolution.expiresAt) {
+        return resolution;
+      }
+
+      resolutions.asMap().remove(host, resolution);
+      if (resolution.expiresAt == resolution.resolvedAt) {
+        // Not cacheable, so this was resolved for this lookup alone and can be used once
+        return resolution;
+      }
+    }
+  }
+
+  private Resolution resolve(String host) {
+    final long now = clock.getAsLong();
+    try {
+      return new Resolution(resolver.resolve(host), now, now + ttlMillis);
+    } catch (UnknownHostException e) {
+      return new Resolution(null, now, now + negativeTtlMillis);
+    }
+  }
+
+  interface HostResolver {
+    InetAddress[] resolve(String host) throws UnknownHostException;
+  }
+
+  private static class Resolution {
+    final InetAddress[] addresses;
+    final long resolvedAt;
+    final long expiresAt;
+
+    // NetworkAddressRules doesn't override equals(), so verdicts are held per rules instance
+    final Map<NetworkAddressRules, Boolean> verdicts = new ConcurrentHashMap<>();
+
+    Resolution(InetAddress[] addresses, long resolvedAt, long expiresAt) {
+      this.addresses = addresses;
+      this.resolvedAt = resolvedAt;
+      this.expiresAt = expiresAt;
+    }
+
+    boolean isAllowedBy(NetworkAddressRules rules) {
+      if (addresses == null) {
+        return false;
+      }
+
+      return verdicts.computeIfAbsent(
+          rules,
+          r -> Arrays.stream(addresses).allMatch(address -> r.isAllowed(address.getHostAddress())));
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Selects the k lowest scoring results from a list of sources without sorting all of them. Each
+ * source is mapped and scored once, only k candidates are retained at a time in a bounded heap,
+ * and large lists are split across the common fork/join pool. The result is ordered by ascending
+ * score, with ties kept in source order, so it's identical to a stable sort followed by a
+ * truncation.
+ */
+public final class TopKSelector {
+
+  static final int SEQUENTIAL_THRESHOLD = 256;
+
+  public static <S, T> List<T> selectLowest(
+      List<S> sources, Function<S, T> mapper, ToDoubleFunction<T> scorer, int k) {
+    return selectLowest(sources, mapper, scorer, k, Double.NEGATIVE_INFINITY);
+  }
+
+  /**
+   * As {@link #selectLowest(List, Function, ToDoubleFunction, int)}, but stops scanning once k
+   * results scoring at or below the cut-off have been found. The cut-off should be the lowest
+   * possible score, since nothing after that point can displace them.
+   */
+  public static <S, T> List<T> selectLowest(
+      List<S> sources,
+      Function<S, T> mapper,
+      ToDoubleFunction<T> scorer,
+      int k,
+      double cutOffScore) {
+    if (k < 1 || sources.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    final List<S> randomAccessSources =
+        sources instanceof RandomAccess ? sources : new ArrayList<>(sources);
+    final SelectTask<S, T> task =
+        new SelectTask<>(
+            randomAccessSources,
+            mapper,
+            scorer,
+            k,
+            cutOffScore,
+            new AtomicInteger(Integer.MAX_VALUE),
+            0,
+            randomAccessSources.size());
+
+    final PriorityQueue<Candidate<T>> heap =
+        randomAccessSources.size() <= SEQUENTIAL_THRESHOLD
+            ? task.compute()
+            : ForkJoinPool.commonPool().invoke(task);
+
+    final List<Candidate<T>> candidates = new ArrayList<>(heap);
+    candidates.sort(Candidate.ASCENDING);
+    final List<T> results = new ArrayList<>(candidates.size());
+    for (Candidate<T> candidate : candidates) {
+      results.add(candidate.value);
+    }
+    return results;
+  }
+
+  private static class SelectTask<S, T> extends RecursiveTask<PriorityQueue<Candidate<T>>> {
+
+    private final List<S> sources;
+    private final Function<S, T> mapper;
+    private final ToDoubleFunction<T> scorer;
+    private final int k;
+    private final double cutOffScore;
+    private final AtomicInteger cutOffIndex;
+    private final int from;
+    private final int to;
+
+    SelectTask(
+        List<S> sources,
+        Function<S, T> mapper,
+        ToDoubleFunction<T> scorer,
+        int k,
+        double cutOffScore,
+        AtomicInteger cutOffIndex,
+        int from,
+        int to) {
+      this.sources = sources;
+      this.mapper = mapper;
+      this.scorer = scorer;
+      this.k = k;
+      this.cutOffScore = cutOffScore;
+      this.cutOffIndex = cutOffIndex;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected PriorityQueue<Candidate<T>> compute() {
+      if (to - from <= SEQUENTIAL_THRESHOLD) {
+        return scan();
+      }
+
+      final int middle = (from + to) >>> 1;
+      final SelectTask<S, T> left = split(from, middle);
+      left.fork();
+      final PriorityQueue<Candidate<T>> heap = split(middle, to).compute();
+      for (Candidate<T> candidate : left.join()) {
+        offer(heap, candidate);
+      }
+      return heap;
+    }
+
+    private SelectTask<S, T> split(int from, int to) {
+      return new SelectTask<>(sources, mapper, scorer, k, cutOffScore, cutOffIndex, from, to);
+    }
+
+    private PriorityQueue<Candidate<T>> scan() {
+      final PriorityQueue<Candidate<T>> heap = new PriorityQueue<>(k, Candidate.DESCENDING);
+      int atOrBelowCutOff = 0;
+      for (int index = from; index < to && index <= cutOffIndex.get(); index++) {
+        final T value = mapper.apply(sources.get(index));
+        final double score = scorer.applyAsDouble(value);
+        offer(heap, new Candidate<>(index, value, score));
+
+        // k results that can't be beaten have been found, so nothing after this index is needed
+        if (score <= cutOffScore && ++atOrBelowCutOff == k) {
+          cutOffIndex.accumulateAndGet(index, Math::min);
+          break;
+        }
+      }
+      return heap;
+    }
+
+    private void offer(PriorityQueue<Candidate<T>> heap, Candidate<T> candidate) {
+      if (heap.size() < k) {
+        heap.add(candidate);
+      } else if (Candidate.ASCENDING.compare(candidate, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(candidate);
+      }
+    }
+  }
+
+  private static class Candidate<T> {
+
+    static final Comparator<Candidate<?>> ASCENDING =
+        Comparator.<Candidate<?>>comparingDouble(candidate -> candidate.score)
+            .thenComparingInt(candidate -> candidate.index);
+    static final Comparator<Candidate<?>> DESCENDING = ASCENDING.reversed();
+
+    final int index;
+    final T value;
+    final double score;
+
+    Candidate(int index, T value, double score) {
+      this.index = index;
+      this.value = value;
+      this.score = score;
+    }
+  }
+
+  private TopKSelector() {
+    throw new UnsupportedOperationException("Not instantiable");
+  }
+}
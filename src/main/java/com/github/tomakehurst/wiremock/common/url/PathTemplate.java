@@ -88,6 +88,11 @@ public class PathTemplate {
     return templateString.replaceAll(SPECIAL_SYMBOL_REGEX.pattern(), "");
   }
 
+  public String literalPrefix() {
+    Matcher matcher = SPECIAL_SYMBOL_REGEX.matcher(templateString);
+    return matcher.find() ? templateString.substring(0, matcher.start()) : templateString;
+  }
+
   private static String stripFormatCharacters(String parameter) {
     return parameter.replace(".", "").replace(";", "").replace("*", "");
   }
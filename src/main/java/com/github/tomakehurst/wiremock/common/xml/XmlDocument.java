@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2021 Thomas Akehurst
+ * Copyright (C) 2020-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,14 @@ import static javax.xml.xpath.XPathConstants.NODESET;
 
 import com.github.tomakehurst.wiremock.common.ListOrSingle;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
@@ -31,6 +34,19 @@ import org.xmlunit.util.Convert;
 
 public class XmlDocument extends XmlNode {
 
+  private static final int MAX_COMPILED_XPATHS_PER_THREAD = 256;
+
+  private static final ThreadLocal<Map<CompiledXPathKey, XPathExpression>> COMPILED_XPATH_CACHE =
+      ThreadLocal.withInitial(
+          () ->
+              new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                    Map.Entry<CompiledXPathKey, XPathExpression> eldest) {
+                  return size() > MAX_COMPILED_XPATHS_PER_THREAD;
+                }
+              });
+
   private final Document document;
 
   public XmlDocument(Document document) {
@@ -44,20 +60,16 @@ public class XmlDocument extends XmlNode {
 
   public ListOrSingle<XmlNode> findNodes(String xPathExpression, Map<String, String> namespaces) {
     try {
-      final XPath xPath = XPATH_CACHE.get();
-      xPath.reset();
+      final XPathExpression compiledExpression = compile(xPathExpression, namespaces);
 
       NodeList nodeSet;
       if (namespaces != null) {
-        Map<String, String> fullNamespaces = addStandardNamespaces(namespaces);
-        NamespaceContext namespaceContext = Convert.toNamespaceContext(fullNamespaces);
-        xPath.setNamespaceContext(namespaceContext);
         nodeSet =
             (NodeList)
-                xPath.evaluate(
-                    xPathExpression, Convert.toInputSource(new DOMSource(document)), NODESET);
+                compiledExpression.evaluate(
+                    Convert.toInputSource(new DOMSource(document)), NODESET);
       } else {
-        nodeSet = (NodeList) xPath.evaluate(xPathExpression, document, NODESET);
+        nodeSet = (NodeList) compiledExpression.evaluate(document, NODESET);
       }
 
       return toListOrSingle(nodeSet);
@@ -66,6 +78,30 @@ public class XmlDocument extends XmlNode {
     }
   }
 
+  // Compiled expressions aren't thread safe, so each thread keeps its own bounded cache of them
+  private static XPathExpression compile(String xPathExpression, Map<String, String> namespaces)
+      throws XPathExpressionException {
+    final CompiledXPathKey key = new CompiledXPathKey(xPathExpression, namespaces);
+    final Map<CompiledXPathKey, XPathExpression> compiledExpressions =
+        COMPILED_XPATH_CACHE.get();
+    XPathExpression compiledExpression = compiledExpressions.get(key);
+    if (compiledExpression == null) {
+      final XPath xPath = XPATH_CACHE.get();
+      xPath.reset();
+
+      if (namespaces != null) {
+        Map<String, String> fullNamespaces = addStandardNamespaces(namespaces);
+        NamespaceContext namespaceContext = Convert.toNamespaceContext(fullNamespaces);
+        xPath.setNamespaceContext(namespaceContext);
+      }
+
+      compiledExpression = xPath.compile(xPathExpression);
+      compiledExpressions.put(key, compiledExpression);
+    }
+
+    return compiledExpression;
+  }
+
   private static Map<String, String> addStandardNamespaces(Map<String, String> namespaces) {
     Map<String, String> result = new HashMap<String, String>();
     for (String prefix : namespaces.keySet()) {
@@ -83,4 +119,27 @@ public class XmlDocument extends XmlNode {
 
     return result;
   }
+
+  private static class CompiledXPathKey {
+    private final String expression;
+    private final Map<String, String> namespaces;
+
+    CompiledXPathKey(String expression, Map<String, String> namespaces) {
+      this.expression = expression;
+      this.namespaces = namespaces;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      CompiledXPathKey that = (CompiledXPathKey) o;
+      return expression.equals(that.expression) && Objects.equals(namespaces, that.namespaces);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(expression, namespaces);
+    }
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2013-2021 Thomas Akehurst
+ * Copyright (C) 2013-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,5 +25,9 @@ public interface MappingsSaver {
 
   void remove(StubMapping stubMapping);
 
+  default void remove(List<StubMapping> stubMappings) {
+    stubMappings.forEach(this::remove);
+  }
+
   void removeAll();
 }
@@ -105,6 +105,10 @@ public interface Options {
     return PlainTextStubNotMatchedRenderer::new;
   }
 
+  default NotMatchedDiffSettings getNotMatchedDiffSettings() {
+    return NotMatchedDiffSettings.DEFAULTS;
+  }
+
   AsynchronousResponseSettings getAsynchronousResponseSettings();
 
   ChunkedEncodingPolicy getChunkedEncodingPolicy();
@@ -127,6 +131,14 @@ public interface Options {
 
   int proxyTimeout();
 
+  default ProxyStreamingSettings getProxyStreamingSettings() {
+    return ProxyStreamingSettings.DEFAULTS;
+  }
+
+  default TargetAddressCache getProxyTargetAddressCache() {
+    return TargetAddressCache.DEFAULT;
+  }
+
   boolean getResponseTemplatingEnabled();
 
   boolean getResponseTemplatingGlobal();
@@ -133,7 +133,7 @@ public class WireMockApp implements StubServer, Admin {
       FileSource rootFileSource,
       Container container) {
 
-    this.stores = new DefaultStores(rootFileSource);
+    this.stores = new DefaultStores(rootFileSource, maxRequestJournalEntries);
 
     this.browserProxyingEnabled = browserProxyingEnabled;
     this.defaultMappingsLoader = defaultMappingsLoader;
@@ -196,7 +196,9 @@ public class WireMockApp implements StubServer, Admin {
                 browserProxySettings.trustedProxyTargets(),
                 options.getStubCorsEnabled(),
                 options.getProxyTargetRules(),
-                options.proxyTimeout()),
+                options.proxyTimeout(),
+                options.getProxyStreamingSettings(),
+                options.getProxyTargetAddressCache()),
             List.copyOf(extensions.ofType(ResponseTransformer.class).values()),
             List.copyOf(extensions.ofType(ResponseTransformerV2.class).values())),
         this,
@@ -207,7 +209,8 @@ public class WireMockApp implements StubServer, Admin {
         getV2StubRequestFilters(),
         options.getStubRequestLoggingDisabled(),
         options.getDataTruncationSettings(),
-        options.getNotMatchedRendererFactory().apply(extensions));
+        options.getNotMatchedRendererFactory().apply(extensions),
+        options.getNotMatchedDiffSettings());
   }
 
   private List<RequestFilter> getAdminRequestFilters() {
@@ -351,8 +354,9 @@ public class WireMockApp implements StubServer, Admin {
   @Override
   public GetServeEventsResult getServeEvents(ServeEventQuery query) {
     try {
-      final List<ServeEvent> serveEvents = query.filter(requestJournal.getAllServeEvents());
-      return GetServeEventsResult.requestJournalEnabled(LimitAndOffsetPaginator.none(serveEvents));
+      final List<ServeEvent> serveEvents = requestJournal.getServeEvents(query);
+      final long total = requestJournal.countServeEvents(query);
+      return new GetServeEventsResult(serveEvents, new PaginatedResult.Meta((int) total), false);
     } catch (RequestJournalDisabledException e) {
       return GetServeEventsResult.requestJournalDisabled(
           LimitAndOffsetPaginator.none(requestJournal.getAllServeEvents()));
@@ -546,25 +550,52 @@ public class WireMockApp implements StubServer, Admin {
     List<StubMapping> mappings = stubImport.getMappings();
     StubImport.Options importOptions =
         getFirstNonNull(stubImport.getImportOptions(), StubImport.Options.DEFAULTS);
+    boolean overwrite =
+        importOptions.getDuplicatePolicy() == StubImport.Options.DuplicatePolicy.OVERWRITE;
 
+    // Stubs are added last to first, so the first in the import takes precedence over the others
+    List<StubMapping> toAdd = new ArrayList<>();
+    Map<UUID, Integer> positionsToAdd = new HashMap<>();
     for (int i = mappings.size() - 1; i >= 0; i--) {
       StubMapping mapping = mappings.get(i);
-      if (mapping.getId() != null && getStubMapping(mapping.getId()).isPresent()) {
-        if (importOptions.getDuplicatePolicy() == StubImport.Options.DuplicatePolicy.OVERWRITE) {
+      if (mapping.getId() == null) {
+        mapping.setId(UUID.randomUUID());
+      }
+
+      Integer position = positionsToAdd.get(mapping.getId());
+      if (position != null) {
+        if (overwrite) {
+          toAdd.set(position, mapping);
+        }
+      } else if (stubMappings.get(mapping.getId()).isPresent()) {
+        if (overwrite) {
           editStubMapping(mapping);
         }
       } else {
-        addStubMapping(mapping);
+        positionsToAdd.put(mapping.getId(), toAdd.size());
+        toAdd.add(mapping);
       }
     }
 
+    stubMappings.addMappings(toAdd);
+    List<StubMapping> toSave =
+        toAdd.stream().filter(StubMapping::shouldBePersisted).collect(Collectors.toList());
+    if (!toSave.isEmpty()) {
+      mappingsSaver.save(toSave);
+    }
+
     if (importOptions.getDeleteAllNotInImport()) {
-      List<UUID> ids = mappings.stream().map(StubMapping::getId).collect(Collectors.toList());
-      for (StubMapping mapping : listAllStubMappings().getMappings()) {
-        if (!ids.contains(mapping.getId())) {
-          removeStubMapping(mapping);
-        }
+      Set<UUID> ids = mappings.stream().map(StubMapping::getId).collect(Collectors.toSet());
+      List<StubMapping> toRemove =
+          stubMappings.getAll().stream()
+              .filter(mapping -> !ids.contains(mapping.getId()))
+              .collect(Collectors.toList());
+      List<StubMapping> toDelete =
+          toRemove.stream().filter(StubMapping::shouldBePersisted).collect(Collectors.toList());
+      if (!toDelete.isEmpty()) {
+        mappingsSaver.remove(toDelete);
       }
+      stubMappings.removeMappings(toRemove);
     }
   }
 }
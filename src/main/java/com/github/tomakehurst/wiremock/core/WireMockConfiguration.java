@@ -32,10 +32,13 @@ import com.github.tomakehurst.wiremock.common.HttpsSettings;
 import com.github.tomakehurst.wiremock.common.JettySettings;
 import com.github.tomakehurst.wiremock.common.Limit;
 import com.github.tomakehurst.wiremock.common.NetworkAddressRules;
+import com.github.tomakehurst.wiremock.common.NotMatchedDiffSettings;
 import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.common.ProxySettings;
+import com.github.tomakehurst.wiremock.common.ProxyStreamingSettings;
 import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
 import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
+import com.github.tomakehurst.wiremock.common.TargetAddressCache;
 import com.github.tomakehurst.wiremock.common.filemaker.FilenameMaker;
 import com.github.tomakehurst.wiremock.common.ssl.KeyStoreSettings;
 import com.github.tomakehurst.wiremock.common.ssl.KeyStoreSourceFactory;
@@ -51,6 +54,7 @@ import com.github.tomakehurst.wiremock.http.trafficlistener.DoNothingWiremockNet
 import com.github.tomakehurst.wiremock.http.trafficlistener.WiremockNetworkTrafficListener;
 import com.github.tomakehurst.wiremock.jetty.JettyHttpServerFactory;
 import com.github.tomakehurst.wiremock.jetty.QueuedThreadPoolFactory;
+import com.github.tomakehurst.wiremock.jetty.VirtualThreadPoolFactory;
 import com.github.tomakehurst.wiremock.security.Authenticator;
 import com.github.tomakehurst.wiremock.security.BasicAuthenticator;
 import com.github.tomakehurst.wiremock.security.NoAuthenticator;
@@ -62,6 +66,8 @@ import com.github.tomakehurst.wiremock.store.Stores;
 import com.github.tomakehurst.wiremock.verification.notmatched.NotMatchedRenderer;
 import com.github.tomakehurst.wiremock.verification.notmatched.PlainTextStubNotMatchedRenderer;
 import com.google.common.io.Resources;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -101,6 +107,7 @@ public class WireMockConfiguration implements Options {
   private FileSource filesRoot = new SingleRootFileSource("src/test/resources");
   private Stores stores;
   private MappingsSource mappingsSource;
+  private Path mappingsSnapshotFile;
   private FilenameMaker filenameMaker;
 
   private Notifier notifier = new Slf4jNotifier(false);
@@ -129,6 +136,8 @@ public class WireMockConfiguration implements Options {
 
   private Function<Extensions, NotMatchedRenderer> notMatchedRendererFactory =
       PlainTextStubNotMatchedRenderer::new;
+  private boolean asynchronousNotMatchedDiffs = false;
+  private Limit maxNotMatchedDiffsPerSecond = Limit.UNLIMITED;
   private boolean asynchronousResponseEnabled;
   private int asynchronousResponseThreads;
   private ChunkedEncodingPolicy chunkedEncodingPolicy;
@@ -145,6 +154,10 @@ public class WireMockConfiguration implements Options {
   private NetworkAddressRules proxyTargetRules = NetworkAddressRules.ALLOW_ALL;
 
   private int proxyTimeout = DEFAULT_TIMEOUT;
+  private boolean streamProxyResponses = false;
+  private int maxCapturedProxyResponseBodySize =
+      ProxyStreamingSettings.DEFAULT_MAX_CAPTURED_BODY_SIZE;
+  private TargetAddressCache proxyTargetAddressCache = TargetAddressCache.DEFAULT;
 
   private boolean templatingEnabled = true;
   private boolean globalTemplating = false;
@@ -155,7 +168,8 @@ public class WireMockConfiguration implements Options {
   private MappingsSource getMappingsSource() {
     if (mappingsSource == null) {
       mappingsSource =
-          new JsonFileMappingsSource(filesRoot.child(MAPPINGS_ROOT), getFilenameMaker());
+          new JsonFileMappingsSource(
+              filesRoot.child(MAPPINGS_ROOT), getFilenameMaker(), notifier, mappingsSnapshotFile);
     }
 
     return mappingsSource;
@@ -357,6 +371,16 @@ public class WireMockConfiguration implements Options {
     return this;
   }
 
+  /**
+   * Keep a binary snapshot of the stub mappings loaded from the mappings directory at the given
+   * path, and load from it on startup instead of the mapping files for as long as they're
+   * unchanged. Has no effect when a custom mappings source is configured.
+   */
+  public WireMockConfiguration mappingsSnapshot(String path) {
+    this.mappingsSnapshotFile = path != null ? Paths.get(path) : null;
+    return this;
+  }
+
   public WireMockConfiguration notifier(Notifier notifier) {
     this.notifier = notifier;
     return this;
@@ -431,6 +455,10 @@ public class WireMockConfiguration implements Options {
     return this;
   }
 
+  public WireMockConfiguration useVirtualThreads() {
+    return threadPoolFactory(new VirtualThreadPoolFactory());
+  }
+
   public WireMockConfiguration networkTrafficListener(
       WiremockNetworkTrafficListener networkTrafficListener) {
     this.networkTrafficListener = networkTrafficListener;
@@ -457,6 +485,16 @@ public class WireMockConfiguration implements Options {
     return this;
   }
 
+  public WireMockConfiguration asynchronousNotMatchedDiffs(boolean asynchronousNotMatchedDiffs) {
+    this.asynchronousNotMatchedDiffs = asynchronousNotMatchedDiffs;
+    return this;
+  }
+
+  public WireMockConfiguration maxNotMatchedDiffsPerSecond(int maxNotMatchedDiffsPerSecond) {
+    this.maxNotMatchedDiffsPerSecond = new Limit(maxNotMatchedDiffsPerSecond);
+    return this;
+  }
+
   public WireMockConfiguration asynchronousResponseEnabled(boolean asynchronousResponseEnabled) {
     this.asynchronousResponseEnabled = asynchronousResponseEnabled;
     return this;
@@ -522,6 +560,29 @@ public class WireMockConfiguration implements Options {
     return this;
   }
 
+  public WireMockConfiguration streamProxyResponses(boolean streamProxyResponses) {
+    this.streamProxyResponses = streamProxyResponses;
+    return this;
+  }
+
+  public WireMockConfiguration maxCapturedProxyResponseBodySize(
+      int maxCapturedProxyResponseBodySize) {
+    this.maxCapturedProxyResponseBodySize = maxCapturedProxyResponseBodySize;
+    return this;
+  }
+
+  public WireMockConfiguration proxyTargetDnsCacheTtl(long ttlMillis) {
+    this.proxyTargetAddressCache =
+        new TargetAddressCache(ttlMillis, proxyTargetAddressCache.getNegativeTtlMillis());
+    return this;
+  }
+
+  public WireMockConfiguration proxyTargetDnsNegativeCacheTtl(long negativeTtlMillis) {
+    this.proxyTargetAddressCache =
+        new TargetAddressCache(proxyTargetAddressCache.getTtlMillis(), negativeTtlMillis);
+    return this;
+  }
+
   public WireMockConfiguration templatingEnabled(boolean templatingEnabled) {
     this.templatingEnabled = templatingEnabled;
     return this;
@@ -598,7 +659,7 @@ public class WireMockConfiguration implements Options {
   @Override
   public Stores getStores() {
     if (stores == null) {
-      stores = new DefaultStores(filesRoot);
+      stores = new DefaultStores(filesRoot, maxRequestJournalEntries.orElse(null));
     }
 
     return stores;
@@ -694,6 +755,21 @@ public class WireMockConfiguration implements Options {
     return notMatchedRendererFactory;
   }
 
+  @Override
+  public ProxyStreamingSettings getProxyStreamingSettings() {
+    return new ProxyStreamingSettings(streamProxyResponses, maxCapturedProxyResponseBodySize);
+  }
+
+  @Override
+  public TargetAddressCache getProxyTargetAddressCache() {
+    return proxyTargetAddressCache;
+  }
+
+  @Override
+  public NotMatchedDiffSettings getNotMatchedDiffSettings() {
+    return new NotMatchedDiffSettings(asynchronousNotMatchedDiffs, maxNotMatchedDiffsPerSecond);
+  }
+
   @Override
   public AsynchronousResponseSettings getAsynchronousResponseSettings() {
     return new AsynchronousResponseSettings(
@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.extension;
 
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.List;
 
 public interface StubLifecycleListener extends Extension {
 
@@ -23,6 +24,15 @@ public interface StubLifecycleListener extends Extension {
 
   default void afterStubCreated(StubMapping stub) {}
 
+  /** Called once before a batch of stubs is created, e.g. by an import. */
+  default void beforeStubsCreated(List<StubMapping> stubs) {
+    stubs.forEach(this::beforeStubCreated);
+  }
+
+  default void afterStubsCreated(List<StubMapping> stubs) {
+    stubs.forEach(this::afterStubCreated);
+  }
+
   default void beforeStubEdited(StubMapping oldStub, StubMapping newStub) {}
 
   default void afterStubEdited(StubMapping oldStub, StubMapping newStub) {}
@@ -31,6 +41,14 @@ public interface StubLifecycleListener extends Extension {
 
   default void afterStubRemoved(StubMapping stub) {}
 
+  default void beforeStubsRemoved(List<StubMapping> stubs) {
+    stubs.forEach(this::beforeStubRemoved);
+  }
+
+  default void afterStubsRemoved(List<StubMapping> stubs) {
+    stubs.forEach(this::afterStubRemoved);
+  }
+
   default void beforeStubsReset() {}
 
   default void afterStubsReset() {}
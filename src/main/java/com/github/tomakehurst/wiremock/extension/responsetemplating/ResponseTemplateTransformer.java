@@ -114,7 +114,8 @@ public class ResponseTemplateTransformer
           HandlebarsOptimizedTemplate bodyTemplate =
               templateEngine.getTemplate(
                   HttpTemplateCacheKey.forFileBody(responseDefinition, compiledFilePath),
-                  file.readContentsAsString());
+                  file.lastModified(),
+                  file::readContentsAsString);
           applyTemplatedResponseBody(newResponseDefBuilder, model, bodyTemplate, false);
         }
       }
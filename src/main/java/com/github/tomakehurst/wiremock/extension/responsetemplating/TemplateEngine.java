@@ -32,11 +32,12 @@ import com.google.common.cache.CacheBuilder;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 
 public class TemplateEngine {
 
   private final Handlebars handlebars;
-  private final Cache<Object, HandlebarsOptimizedTemplate> cache;
+  private final Cache<Object, CachedTemplate> cache;
   private final Long maxCacheEntries;
 
   public static TemplateEngine defaultTemplateEngine() {
@@ -93,17 +94,37 @@ public class TemplateEngine {
   }
 
   public HandlebarsOptimizedTemplate getTemplate(final Object key, final String content) {
+    return getTemplate(key, 0L, () -> content);
+  }
+
+  /**
+   * Gets the cached template for the key, only fetching and compiling the content if there isn't
+   * one or the cached one was compiled from a different version of the content, e.g. a file that
+   * has been modified since.
+   */
+  public HandlebarsOptimizedTemplate getTemplate(
+      final Object key, final long version, final Supplier<String> contentSource) {
     if (maxCacheEntries != null && maxCacheEntries < 1) {
-      return getUncachedTemplate(content);
+      return getUncachedTemplate(contentSource.get());
     }
 
     try {
-      return cache.get(key, () -> new HandlebarsOptimizedTemplate(handlebars, content));
+      CachedTemplate cached = cache.get(key, () -> compile(version, contentSource));
+      if (cached.version != version) {
+        cached = compile(version, contentSource);
+        cache.put(key, cached);
+      }
+
+      return cached.template;
     } catch (ExecutionException e) {
       return Exceptions.throwUnchecked(e, HandlebarsOptimizedTemplate.class);
     }
   }
 
+  private CachedTemplate compile(long version, Supplier<String> contentSource) {
+    return new CachedTemplate(version, getUncachedTemplate(contentSource.get()));
+  }
+
   public HandlebarsOptimizedTemplate getUncachedTemplate(final String content) {
     return new HandlebarsOptimizedTemplate(handlebars, content);
   }
@@ -119,4 +140,14 @@ public class TemplateEngine {
   public Long getMaxCacheEntries() {
     return maxCacheEntries;
   }
+
+  private static class CachedTemplate {
+    final long version;
+    final HandlebarsOptimizedTemplate template;
+
+    CachedTemplate(long version, HandlebarsOptimizedTemplate template) {
+      this.version = version;
+      this.template = template;
+    }
+  }
 }
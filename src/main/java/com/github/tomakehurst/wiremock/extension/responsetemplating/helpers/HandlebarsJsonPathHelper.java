@@ -18,6 +18,7 @@ package com.github.tomakehurst.wiremock.extension.responsetemplating.helpers;
 import static com.github.tomakehurst.wiremock.common.ParameterUtils.getFirstNonNull;
 
 import com.github.jknack.handlebars.Options;
+import com.github.tomakehurst.wiremock.common.JsonPathCache;
 import com.github.tomakehurst.wiremock.extension.responsetemplating.RenderCache;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
@@ -49,7 +50,7 @@ public class HandlebarsJsonPathHelper extends HandlebarsHelper<Object> {
 
     try {
       final DocumentContext jsonDocument = getJsonDocument(input, options);
-      final JsonPath jsonPath = JsonPath.compile(jsonPathString);
+      final JsonPath jsonPath = JsonPathCache.compile(jsonPathString);
       Object result = getValue(jsonPath, jsonDocument, options);
       return JsonData.create(result);
     } catch (InvalidJsonException e) {
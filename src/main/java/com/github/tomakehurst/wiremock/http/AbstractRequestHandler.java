@@ -74,10 +74,44 @@ public abstract class AbstractRequestHandler implements RequestHandler, RequestE
 
     ResponseDefinition responseDefinition = serveEvent.getResponseDefinition();
     responseDefinition.setOriginalRequest(processedRequest);
-    Response response = responseRenderer.render(serveEvent);
-    response = Response.Builder.like(response).protocol(request.getProtocol()).build();
-    serveEvent = serveEvent.complete(response, dataTruncationSettings);
+    final Response response =
+        Response.Builder.like(responseRenderer.render(serveEvent))
+            .protocol(request.getProtocol())
+            .build();
+
+    try {
+      // A body streamed through from elsewhere is only captured as it's sent, so reading it any
+      // earlier would hold it up. The serve event is completed once it has been sent instead.
+      if (response.isBodyStreamed()) {
+        serveEvent.processed(response);
+        send(request, httpResponder, response, serveEvent, () -> {});
+        final ServeEvent completedServeEvent =
+            serveEvent.withResponse(response, dataTruncationSettings);
+        responseReady(request, responseDefinition, response, completedServeEvent);
+        afterResponseSent(completedServeEvent, response);
+      } else {
+        final ServeEvent completedServeEvent =
+            serveEvent.complete(response, dataTruncationSettings);
+        responseReady(request, responseDefinition, response, completedServeEvent);
+        // Delayed responses can finish sending after the responder returns
+        send(
+            request,
+            httpResponder,
+            response,
+            completedServeEvent,
+            () -> afterResponseSent(completedServeEvent, response));
+      }
+    } finally {
+      // Otherwise a streamed body that wasn't sent in full would hold on to its connection
+      response.closeStreamedBody();
+    }
+  }
 
+  private void responseReady(
+      Request request,
+      ResponseDefinition responseDefinition,
+      Response response,
+      ServeEvent serveEvent) {
     if (logRequests()) {
       notifier()
           .info(
@@ -94,14 +128,25 @@ public abstract class AbstractRequestHandler implements RequestHandler, RequestE
     }
 
     beforeResponseSent(serveEvent, response);
+  }
 
+  private void send(
+      Request request,
+      HttpResponder httpResponder,
+      Response response,
+      ServeEvent serveEvent,
+      Runnable afterSent) {
     serveEvent.beforeSend();
 
     Map<String, Object> attributes = Map.of(ORIGINAL_SERVE_EVENT_KEY, serveEvent);
-    httpResponder.respond(request, response, attributes);
-
-    serveEvent.afterSend();
-    afterResponseSent(serveEvent, response);
+    httpResponder.respond(
+        request,
+        response,
+        attributes,
+        () -> {
+          serveEvent.afterSend();
+          afterSent.run();
+        });
   }
 
   protected String formatRequest(Request request) {
@@ -32,6 +32,8 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import javax.net.ssl.SSLContext;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.classic.methods.*;
@@ -65,6 +67,26 @@ public class HttpClientFactory {
       boolean trustSelfSignedCertificates,
       final List<String> trustedHosts,
       boolean useSystemProperties) {
+    return createClient(
+        maxConnections,
+        timeoutMilliseconds,
+        proxySettings,
+        trustStoreSettings,
+        trustSelfSignedCertificates,
+        trustedHosts,
+        useSystemProperties,
+        SystemDefaultDnsResolver.INSTANCE);
+  }
+
+  public static CloseableHttpClient createClient(
+      int maxConnections,
+      int timeoutMilliseconds,
+      ProxySettings proxySettings,
+      KeyStoreSettings trustStoreSettings,
+      boolean trustSelfSignedCertificates,
+      final List<String> trustedHosts,
+      boolean useSystemProperties,
+      DnsResolver dnsResolver) {
 
     HttpClientBuilder builder =
         HttpClientBuilder.create()
@@ -113,6 +135,7 @@ public class HttpClientFactory {
     PoolingHttpClientConnectionManager connectionManager =
         PoolingHttpClientConnectionManagerBuilder.create()
             .setSSLSocketFactory(sslSocketFactory)
+            .setDnsResolver(dnsResolver)
             .build();
     builder.setConnectionManager(connectionManager);
 
@@ -19,4 +19,14 @@ import java.util.Map;
 
 public interface HttpResponder {
   void respond(Request request, Response response, Map<String, Object> attributes);
+
+  /**
+   * Sends the response, running the callback once it has been sent. Responders that finish sending
+   * on another thread, e.g. after a delay, run it then rather than before returning.
+   */
+  default void respond(
+      Request request, Response response, Map<String, Object> attributes, Runnable afterSent) {
+    respond(request, response, attributes);
+    afterSent.run();
+  }
 }
@@ -15,9 +15,12 @@
  */
 package com.github.tomakehurst.wiremock.http;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_DEFAULT;
 import static com.google.common.net.MediaType.OCTET_STREAM;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.tomakehurst.wiremock.common.Encoding;
 import com.github.tomakehurst.wiremock.common.Limit;
@@ -30,21 +33,35 @@ public class LoggedResponse {
   private final HttpHeaders headers;
   private final byte[] body;
   private final Fault fault;
+  private final boolean bodyTruncated;
 
+  @JsonCreator
   public LoggedResponse(
       @JsonProperty("status") int status,
       @JsonProperty("headers") HttpHeaders headers,
       @JsonProperty("bodyAsBase64") String bodyAsBase64,
       @JsonProperty("fault") Fault fault,
-      @JsonProperty("body") String ignoredBodyOnlyUsedForBinding) {
-    this(status, headers, Encoding.decodeBase64(bodyAsBase64), fault);
+      @JsonProperty("body") String ignoredBodyOnlyUsedForBinding,
+      @JsonProperty("bodyTruncated") boolean bodyTruncated) {
+    this(status, headers, Encoding.decodeBase64(bodyAsBase64), fault, bodyTruncated);
   }
 
-  private LoggedResponse(int status, HttpHeaders headers, byte[] body, Fault fault) {
+  public LoggedResponse(
+      int status,
+      HttpHeaders headers,
+      String bodyAsBase64,
+      Fault fault,
+      String ignoredBodyOnlyUsedForBinding) {
+    this(status, headers, bodyAsBase64, fault, ignoredBodyOnlyUsedForBinding, false);
+  }
+
+  private LoggedResponse(
+      int status, HttpHeaders headers, byte[] body, Fault fault, boolean bodyTruncated) {
     this.status = status;
     this.headers = headers;
     this.body = body;
     this.fault = fault;
+    this.bodyTruncated = bodyTruncated;
   }
 
   public static LoggedResponse from(Response response, Limit responseBodySizeLimit) {
@@ -54,7 +71,8 @@ public class LoggedResponse {
             ? null
             : response.getHeaders(),
         response.getBody(responseBodySizeLimit),
-        response.getFault());
+        response.getFault(),
+        !response.isBodyCapturedInFull());
   }
 
   public int getStatus() {
@@ -105,4 +123,13 @@ public class LoggedResponse {
   public Fault getFault() {
     return fault;
   }
+
+  /**
+   * Whether only part of a body that was streamed through, e.g. from a proxy target, was captured.
+   * Bodies cut short by the journal's own size limit aren't flagged.
+   */
+  @JsonInclude(NON_DEFAULT)
+  public boolean isBodyTruncated() {
+    return bodyTruncated;
+  }
 }
@@ -16,29 +16,33 @@
 package com.github.tomakehurst.wiremock.http;
 
 import static com.github.tomakehurst.wiremock.common.HttpClientUtils.getEntityAsByteArray;
+import static com.github.tomakehurst.wiremock.common.ProxySettings.NO_PROXY;
 import static com.github.tomakehurst.wiremock.http.Response.response;
 import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 
+import com.github.tomakehurst.wiremock.common.CapturingInputStreamSource;
 import com.github.tomakehurst.wiremock.common.NetworkAddressRules;
 import com.github.tomakehurst.wiremock.common.ProxySettings;
+import com.github.tomakehurst.wiremock.common.ProxyStreamingSettings;
+import com.github.tomakehurst.wiremock.common.TargetAddressCache;
 import com.github.tomakehurst.wiremock.common.ssl.KeyStoreSettings;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
 import com.github.tomakehurst.wiremock.store.SettingsStore;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.UnknownHostException;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import javax.net.ssl.SSLException;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
 import org.apache.hc.client5.http.entity.GzipCompressingEntity;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.core5.http.*;
 import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.io.entity.InputStreamEntity;
@@ -62,6 +66,8 @@ public class ProxyResponseRenderer implements ResponseRenderer {
   private final boolean stubCorsEnabled;
 
   private final NetworkAddressRules targetAddressRules;
+  private final ProxyStreamingSettings streamingSettings;
+  private final TargetAddressCache targetAddressCache;
 
   public ProxyResponseRenderer(
       ProxySettings proxySettings,
@@ -74,7 +80,66 @@ public class ProxyResponseRenderer implements ResponseRenderer {
       boolean stubCorsEnabled,
       NetworkAddressRules targetAddressRules,
       int proxyTimeout) {
+    this(
+        proxySettings,
+        trustStoreSettings,
+        preserveHostHeader,
+        hostHeaderValue,
+        settingsStore,
+        trustAllProxyTargets,
+        trustedProxyTargets,
+        stubCorsEnabled,
+        targetAddressRules,
+        proxyTimeout,
+        ProxyStreamingSettings.DEFAULTS);
+  }
+
+  public ProxyResponseRenderer(
+      ProxySettings proxySettings,
+      KeyStoreSettings trustStoreSettings,
+      boolean preserveHostHeader,
+      String hostHeaderValue,
+      SettingsStore settingsStore,
+      boolean trustAllProxyTargets,
+      List<String> trustedProxyTargets,
+      boolean stubCorsEnabled,
+      NetworkAddressRules targetAddressRules,
+      int proxyTimeout,
+      ProxyStreamingSettings streamingSettings) {
+    this(
+        proxySettings,
+        trustStoreSettings,
+        preserveHostHeader,
+        hostHeaderValue,
+        settingsStore,
+        trustAllProxyTargets,
+        trustedProxyTargets,
+        stubCorsEnabled,
+        targetAddressRules,
+        proxyTimeout,
+        streamingSettings,
+        TargetAddressCache.DEFAULT);
+  }
+
+  public ProxyResponseRenderer(
+      ProxySettings proxySettings,
+      KeyStoreSettings trustStoreSettings,
+      boolean preserveHostHeader,
+      String hostHeaderValue,
+      SettingsStore settingsStore,
+      boolean trustAllProxyTargets,
+      List<String> trustedProxyTargets,
+      boolean stubCorsEnabled,
+      NetworkAddressRules targetAddressRules,
+      int proxyTimeout,
+      ProxyStreamingSettings streamingSettings,
+      TargetAddressCache targetAddressCache) {
     this.settingsStore = settingsStore;
+    // Connect to the addresses the rules were checked against, unless a proxy resolves the target
+    final DnsResolver dnsResolver =
+        proxySettings == NO_PROXY
+            ? new TargetAddressDnsResolver(targetAddressCache, targetAddressRules)
+            : SystemDefaultDnsResolver.INSTANCE;
     reverseProxyClient =
         HttpClientFactory.createClient(
             1000,
@@ -83,7 +148,8 @@ public class ProxyResponseRenderer implements ResponseRenderer {
             trustStoreSettings,
             true,
             Collections.emptyList(),
-            true);
+            true,
+            dnsResolver);
     forwardProxyClient =
         HttpClientFactory.createClient(
             1000,
@@ -92,12 +158,15 @@ public class ProxyResponseRenderer implements ResponseRenderer {
             trustStoreSettings,
             trustAllProxyTargets,
             trustAllProxyTargets ? Collections.emptyList() : trustedProxyTargets,
-            false);
+            false,
+            dnsResolver);
 
     this.preserveHostHeader = preserveHostHeader;
     this.hostHeaderValue = hostHeaderValue;
     this.stubCorsEnabled = stubCorsEnabled;
     this.targetAddressRules = targetAddressRules;
+    this.streamingSettings = streamingSettings;
+    this.targetAddressCache = targetAddressCache;
   }
 
   @Override
@@ -125,20 +194,15 @@ public class ProxyResponseRenderer implements ResponseRenderer {
     CloseableHttpClient client = chooseClient(serveEvent.getRequest().isBrowserProxyRequest());
 
     try {
+      if (streamingSettings.isEnabled()) {
+        return streamingResponseFrom(client.execute(httpRequest), responseDefinition, settings);
+      }
+
       return client.execute(
           httpRequest,
           httpResponse ->
-              response()
-                  .status(httpResponse.getCode())
-                  .headers(headersFrom(httpResponse, responseDefinition))
+              responseFrom(httpResponse, responseDefinition, settings)
                   .body(getEntityAsByteArray(httpResponse))
-                  .fromProxy(true)
-                  .configureDelay(
-                      settings.getFixedDelay(),
-                      settings.getDelayDistribution(),
-                      responseDefinition.getFixedDelayMilliseconds(),
-                      responseDefinition.getDelayDistribution())
-                  .chunkedDribbleDelay(responseDefinition.getChunkedDribbleDelay())
                   .build());
     } catch (SSLException e) {
       return proxyResponseError("SSL", httpRequest, e);
@@ -147,17 +211,51 @@ public class ProxyResponseRenderer implements ResponseRenderer {
     }
   }
 
-  private boolean targetAddressProhibited(String proxyUrl) {
-    String host = URI.create(proxyUrl).getHost();
+  // The upstream response is left open for its body to be streamed to the client, and is closed
+  // once that's been read to the end or closed, or by the request handler if it never is
+  private Response streamingResponseFrom(
+      CloseableHttpResponse httpResponse,
+      ResponseDefinition responseDefinition,
+      GlobalSettings settings)
+      throws IOException {
     try {
-      final InetAddress[] resolvedAddresses = InetAddress.getAllByName(host);
-      return !Arrays.stream(resolvedAddresses)
-          .allMatch(address -> targetAddressRules.isAllowed(address.getHostAddress()));
-    } catch (UnknownHostException e) {
-      return true;
+      Response.Builder responseBuilder = responseFrom(httpResponse, responseDefinition, settings);
+      HttpEntity entity = httpResponse.getEntity();
+      if (entity == null) {
+        httpResponse.close();
+        return responseBuilder.build();
+      }
+
+      return responseBuilder
+          .body(
+              new CapturingInputStreamSource(
+                  entity.getContent(), httpResponse, streamingSettings.getMaxCapturedBodySize()))
+          .build();
+    } catch (IOException | RuntimeException e) {
+      httpResponse.close();
+      throw e;
     }
   }
 
+  private Response.Builder responseFrom(
+      HttpResponse httpResponse, ResponseDefinition responseDefinition, GlobalSettings settings) {
+    return response()
+        .status(httpResponse.getCode())
+        .headers(headersFrom(httpResponse, responseDefinition))
+        .fromProxy(true)
+        .configureDelay(
+            settings.getFixedDelay(),
+            settings.getDelayDistribution(),
+            responseDefinition.getFixedDelayMilliseconds(),
+            responseDefinition.getDelayDistribution())
+        .chunkedDribbleDelay(responseDefinition.getChunkedDribbleDelay());
+  }
+
+  private boolean targetAddressProhibited(String proxyUrl) {
+    String host = URI.create(proxyUrl).getHost();
+    return !targetAddressCache.isAllowed(host, targetAddressRules);
+  }
+
   private Response proxyResponseError(String type, HttpUriRequest request, Exception e) {
     return response()
         .status(HTTP_INTERNAL_ERROR)
@@ -21,6 +21,7 @@ import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
 import static java.net.HttpURLConnection.HTTP_OK;
 
 import com.github.tomakehurst.wiremock.common.*;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Optional;
@@ -91,7 +92,15 @@ public class Response {
     return getBody(UNLIMITED);
   }
 
+  /**
+   * Gets the body, or as much of it as will fit within the size limit. Bodies that are streamed
+   * through, e.g. from a proxy target, are further limited to the part that was captured.
+   */
   public byte[] getBody(Limit sizeLimit) {
+    if (bodyStreamSource instanceof CapturingInputStreamSource) {
+      return ((CapturingInputStreamSource) bodyStreamSource).getCaptured(sizeLimit);
+    }
+
     return Exceptions.uncheck(() -> getBytesFromStream(bodyStreamSource, sizeLimit), byte[].class);
   }
 
@@ -116,6 +125,61 @@ public class Response {
     return bodyStreamSource == null ? null : bodyStreamSource.getStream();
   }
 
+  /**
+   * The length of the body in bytes. When the body is held in a local file this comes from the
+   * file's metadata, so the body isn't read.
+   */
+  public long getBodyLength() {
+    if (bodyStreamSource instanceof CapturingInputStreamSource) {
+      return ((CapturingInputStreamSource) bodyStreamSource).length();
+    }
+
+    final File bodyFile = getBodyFile();
+    return bodyFile != null ? bodyFile.length() : getBody().length;
+  }
+
+  /** The local file the body is served from, or null if it isn't held in one. */
+  public File getBodyFile() {
+    return bodyStreamSource instanceof StreamSources.FileInputStreamSource
+        ? ((StreamSources.FileInputStreamSource) bodyStreamSource).getFile()
+        : null;
+  }
+
+  /**
+   * Whether the body is streamed through from elsewhere, e.g. a proxy target, so that only the part
+   * of it that has been sent so far can be read.
+   */
+  public boolean isBodyStreamed() {
+    return bodyStreamSource instanceof CapturingInputStreamSource;
+  }
+
+  /**
+   * Whether {@link #getBody()} returns the whole body. Not so for a body streamed through that was
+   * longer than could be captured, or that hasn't been read to the end.
+   */
+  public boolean isBodyCapturedInFull() {
+    return !(bodyStreamSource instanceof CapturingInputStreamSource)
+        || ((CapturingInputStreamSource) bodyStreamSource).isCapturedInFull();
+  }
+
+  /**
+   * Releases a body streamed through from elsewhere, along with the connection it's read from,
+   * whether or not it has been sent. Other bodies have nothing to release.
+   */
+  public void closeStreamedBody() {
+    if (bodyStreamSource instanceof CapturingInputStreamSource) {
+      try {
+        ((CapturingInputStreamSource) bodyStreamSource).close();
+      } catch (IOException e) {
+        // Nothing more can be done with it
+      }
+    }
+  }
+
+  boolean sharesBodyWith(Response other) {
+    return bodyStreamSource == other.bodyStreamSource;
+  }
+
   public boolean hasInlineBody() {
     return StreamSources.ByteArrayInputStreamSource.class.isAssignableFrom(
         bodyStreamSource.getClass());
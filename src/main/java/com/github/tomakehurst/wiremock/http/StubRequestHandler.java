@@ -19,6 +19,9 @@ import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
 import static com.github.tomakehurst.wiremock.extension.ServeEventListener.RequestPhase.*;
 
 import com.github.tomakehurst.wiremock.common.DataTruncationSettings;
+import com.github.tomakehurst.wiremock.common.Limit;
+import com.github.tomakehurst.wiremock.common.NotMatchedDiffSettings;
+import com.github.tomakehurst.wiremock.common.Notifier;
 import com.github.tomakehurst.wiremock.common.url.PathParams;
 import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.core.StubServer;
@@ -30,11 +33,23 @@ import com.github.tomakehurst.wiremock.stubbing.SubEvent;
 import com.github.tomakehurst.wiremock.verification.RequestJournal;
 import com.github.tomakehurst.wiremock.verification.diff.DiffEventData;
 import com.github.tomakehurst.wiremock.verification.notmatched.NotMatchedRenderer;
+import com.google.common.util.concurrent.RateLimiter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class StubRequestHandler extends AbstractRequestHandler {
 
+  private static final int NOT_MATCHED_DIFF_QUEUE_SIZE = 1000;
+
+  // A single worker with a bounded queue, so that a flood of unmatched requests can't pile up
+  // unbounded work. Diffs that don't fit in the queue are dropped. It is shared by every handler,
+  // and its thread exits when idle, so nothing is left running after servers are stopped.
+  private static final Executor NOT_MATCHED_DIFF_EXECUTOR = createNotMatchedDiffExecutor();
+
   private final StubServer stubServer;
   private final Admin admin;
   private final Map<String, PostServeAction> postServeActions;
@@ -43,6 +58,8 @@ public class StubRequestHandler extends AbstractRequestHandler {
   private final boolean loggingDisabled;
 
   private final NotMatchedRenderer notMatchedRenderer;
+  private final RateLimiter notMatchedDiffRateLimiter;
+  private final Executor notMatchedDiffExecutor;
 
   public StubRequestHandler(
       StubServer stubServer,
@@ -56,6 +73,34 @@ public class StubRequestHandler extends AbstractRequestHandler {
       boolean loggingDisabled,
       DataTruncationSettings dataTruncationSettings,
       NotMatchedRenderer notMatchedRenderer) {
+    this(
+        stubServer,
+        responseRenderer,
+        admin,
+        postServeActions,
+        serveEventListeners,
+        requestJournal,
+        requestFilters,
+        v2RequestFilters,
+        loggingDisabled,
+        dataTruncationSettings,
+        notMatchedRenderer,
+        NotMatchedDiffSettings.DEFAULTS);
+  }
+
+  public StubRequestHandler(
+      StubServer stubServer,
+      ResponseRenderer responseRenderer,
+      Admin admin,
+      Map<String, PostServeAction> postServeActions,
+      Map<String, ServeEventListener> serveEventListeners,
+      RequestJournal requestJournal,
+      List<RequestFilter> requestFilters,
+      List<RequestFilterV2> v2RequestFilters,
+      boolean loggingDisabled,
+      DataTruncationSettings dataTruncationSettings,
+      NotMatchedRenderer notMatchedRenderer,
+      NotMatchedDiffSettings notMatchedDiffSettings) {
     super(responseRenderer, requestFilters, v2RequestFilters, dataTruncationSettings);
     this.stubServer = stubServer;
     this.admin = admin;
@@ -64,6 +109,30 @@ public class StubRequestHandler extends AbstractRequestHandler {
     this.requestJournal = requestJournal;
     this.loggingDisabled = loggingDisabled;
     this.notMatchedRenderer = notMatchedRenderer;
+
+    final Limit maxDiffsPerSecond = notMatchedDiffSettings.getMaxPerSecond();
+    this.notMatchedDiffRateLimiter =
+        maxDiffsPerSecond.isUnlimited() ? null : RateLimiter.create(maxDiffsPerSecond.getValue());
+    this.notMatchedDiffExecutor =
+        notMatchedDiffSettings.isAsynchronous() ? NOT_MATCHED_DIFF_EXECUTOR : null;
+  }
+
+  private static Executor createNotMatchedDiffExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            10L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(NOT_MATCHED_DIFF_QUEUE_SIZE),
+            runnable -> {
+              final Thread thread = new Thread(runnable, "wiremock-not-matched-diff");
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   @Override
@@ -91,6 +160,26 @@ public class StubRequestHandler extends AbstractRequestHandler {
   }
 
   private void appendNonMatchSubEvent(ServeEvent serveEvent) {
+    if (notMatchedDiffRateLimiter != null && !notMatchedDiffRateLimiter.tryAcquire()) {
+      return;
+    }
+
+    if (notMatchedDiffExecutor != null) {
+      final Notifier notifier = notifier();
+      notMatchedDiffExecutor.execute(
+          () -> {
+            try {
+              renderNonMatchSubEvent(serveEvent);
+            } catch (Exception e) {
+              notifier.error("Failed to render diff for unmatched request", e);
+            }
+          });
+    } else {
+      renderNonMatchSubEvent(serveEvent);
+    }
+  }
+
+  private void renderNonMatchSubEvent(ServeEvent serveEvent) {
     final ResponseDefinition responseDefinition =
         notMatchedRenderer.execute(admin, serveEvent, PathParams.empty());
     final HttpHeaders headers = responseDefinition.getHeaders();
@@ -61,16 +61,28 @@ public class StubResponseRenderer implements ResponseRenderer {
       return Response.notConfigured();
     }
 
-    Response response = buildResponse(serveEvent);
-
-    response =
-        applyTransformations(
-            responseDefinition.getOriginalRequest(),
-            responseDefinition,
-            response,
-            responseTransformers);
+    final Response rendered = buildResponse(serveEvent);
+
+    final Response response;
+    try {
+      response =
+          applyV2Transformations(
+              applyTransformations(
+                  responseDefinition.getOriginalRequest(),
+                  responseDefinition,
+                  rendered,
+                  responseTransformers),
+              serveEvent,
+              v2ResponseTransformers);
+    } catch (RuntimeException | Error e) {
+      rendered.closeStreamedBody();
+      throw e;
+    }
 
-    response = applyV2Transformations(response, serveEvent, v2ResponseTransformers);
+    // A streamed body that a transformer has replaced will never be sent, so it's released now
+    if (!response.sharesBodyWith(rendered)) {
+      rendered.closeStreamedBody();
+    }
 
     return response;
   }
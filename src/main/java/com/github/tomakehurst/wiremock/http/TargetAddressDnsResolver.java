@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http;
+
+import com.github.tomakehurst.wiremock.common.NetworkAddressRules;
+import com.github.tomakehurst.wiremock.common.TargetAddressCache;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+
+/**
+ * Resolves proxy targets through the {@link TargetAddressCache}, so that the client connects to the
+ * same addresses that were checked against the target address rules and a host can't be rebound to
+ * a denied address between the check and the connection.
+ */
+class TargetAddressDnsResolver implements DnsResolver {
+
+  private final TargetAddressCache targetAddressCache;
+  private final NetworkAddressRules targetAddressRules;
+
+  TargetAddressDnsResolver(
+      TargetAddressCache targetAddressCache, NetworkAddressRules targetAddressRules) {
+    this.targetAddressCache = targetAddressCache;
+    this.targetAddressRules = targetAddressRules;
+  }
+
+  @Override
+  public InetAddress[] resolve(String host) throws UnknownHostException {
+    return targetAddressCache.resolveAllowed(host, targetAddressRules);
+  }
+
+  @Override
+  public String resolveCanonicalHostname(String host) throws UnknownHostException {
+    return SystemDefaultDnsResolver.INSTANCE.resolveCanonicalHostname(host);
+  }
+}
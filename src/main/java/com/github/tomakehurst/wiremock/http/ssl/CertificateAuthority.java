@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2021 Thomas Akehurst
+ * Copyright (C) 2020-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -117,11 +117,10 @@ public class CertificateAuthority {
     return key;
   }
 
-  CertChainAndKey generateCertificate(String keyType, SNIHostName hostName)
+  CertChainAndKey generateCertificate(KeyPair pair, SNIHostName hostName)
       throws CertificateGenerationUnsupportedException {
     try {
-      KeyPair pair = generateKeyPair(keyType);
-      String sigAlg = "SHA256With" + keyType;
+      String sigAlg = signatureAlgorithm(pair.getPublic().getAlgorithm());
       X509CertInfo info =
           makeX509CertInfo(
               sigAlg,
@@ -161,12 +160,20 @@ public class CertificateAuthority {
     return certificate;
   }
 
-  private static KeyPair generateKeyPair(String keyType) throws NoSuchAlgorithmException {
+  static KeyPair generateKeyPair(String keyType) throws NoSuchAlgorithmException {
     KeyPairGenerator keyGen = KeyPairGenerator.getInstance(keyType);
-    keyGen.initialize(2048, new SecureRandom());
+    keyGen.initialize(isEllipticCurve(keyType) ? 256 : 2048, new SecureRandom());
     return keyGen.generateKeyPair();
   }
 
+  private static String signatureAlgorithm(String keyType) {
+    return isEllipticCurve(keyType) ? "SHA256WithECDSA" : "SHA256With" + keyType;
+  }
+
+  private static boolean isEllipticCurve(String keyType) {
+    return keyType.equals("EC");
+  }
+
   private static X509CertInfo makeX509CertInfo(
       String sigAlg,
       String subjectName,
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2020-2021 Thomas Akehurst
+ * Copyright (C) 2020-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,29 +18,55 @@ package com.github.tomakehurst.wiremock.http.ssl;
 import static java.util.Objects.requireNonNull;
 
 import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import javax.net.ssl.SNIHostName;
 
 public class DynamicKeyStore {
 
   private final X509KeyStore keyStore;
   private final CertificateAuthority existingCertificateAuthority;
+  private final KeyPairPool keyPairPool;
+
+  // Generated certificates, held decoded so that handshakes don't go back through the key store,
+  // and as futures so that concurrent first handshakes for a host wait for one generation
+  private final ConcurrentMap<String, CompletableFuture<CertChainAndKey>> generated =
+      new ConcurrentHashMap<>();
 
   public DynamicKeyStore(X509KeyStore keyStore) {
+    this(keyStore, new KeyPairPool(KeyPairPool.DEFAULT_SIZE));
+  }
+
+  DynamicKeyStore(X509KeyStore keyStore, KeyPairPool keyPairPool) {
     this.keyStore = requireNonNull(keyStore);
     this.existingCertificateAuthority =
         requireNonNull(
             keyStore.getCertificateAuthority(),
             "Keystore does not contain a certificate that can act as a certificate authority");
+    this.keyPairPool = requireNonNull(keyPairPool);
+    keyPairPool.prepare(existingCertificateAuthority.key().getAlgorithm());
   }
 
   PrivateKey getPrivateKey(String alias) {
-    return keyStore.getPrivateKey(alias);
+    CertChainAndKey certChainAndKey = getGenerated(alias);
+    return certChainAndKey != null ? certChainAndKey.key : keyStore.getPrivateKey(alias);
   }
 
   X509Certificate[] getCertificateChain(String alias) {
-    return keyStore.getCertificateChain(alias);
+    CertChainAndKey certChainAndKey = getGenerated(alias);
+    return certChainAndKey != null
+        ? certChainAndKey.certificateChain
+        : keyStore.getCertificateChain(alias);
+  }
+
+  private CertChainAndKey getGenerated(String alias) {
+    CompletableFuture<CertChainAndKey> future = generated.get(alias);
+    return future != null && !future.isCompletedExceptionally() ? future.getNow(null) : null;
   }
 
   /**
@@ -49,8 +75,17 @@ public class DynamicKeyStore {
    */
   void generateCertificateIfNecessary(String keyType, SNIHostName requestedServerName)
       throws CertificateGenerationUnsupportedException, KeyStoreException {
-    if (getPrivateKey(requestedServerName.getAsciiName()) == null) {
-      generateCertificate(keyType, requestedServerName);
+    String alias = requestedServerName.getAsciiName();
+    if (getGenerated(alias) != null || keyStore.getPrivateKey(alias) != null) {
+      return;
+    }
+
+    CompletableFuture<CertChainAndKey> ours = new CompletableFuture<>();
+    CompletableFuture<CertChainAndKey> inFlight = generated.putIfAbsent(alias, ours);
+    if (inFlight == null) {
+      generateCertificate(keyType, requestedServerName, ours);
+    } else {
+      awaitGeneration(inFlight);
     }
   }
 
@@ -58,10 +93,50 @@ public class DynamicKeyStore {
    * @param keyType non null, guaranteed to be valid
    * @param requestedServerName non null
    */
-  private void generateCertificate(String keyType, SNIHostName requestedServerName)
+  private void generateCertificate(
+      String keyType, SNIHostName requestedServerName, CompletableFuture<CertChainAndKey> result)
       throws CertificateGenerationUnsupportedException, KeyStoreException {
-    CertChainAndKey newCertChainAndKey =
-        existingCertificateAuthority.generateCertificate(keyType, requestedServerName);
-    keyStore.setKeyEntry(requestedServerName.getAsciiName(), newCertChainAndKey);
+    try {
+      CertChainAndKey newCertChainAndKey =
+          existingCertificateAuthority.generateCertificate(
+              keyPairPool.take(keyType), requestedServerName);
+      keyStore.setKeyEntry(requestedServerName.getAsciiName(), newCertChainAndKey);
+      result.complete(newCertChainAndKey);
+    } catch (NoSuchAlgorithmException e) {
+      CertificateGenerationUnsupportedException unsupported =
+          new CertificateGenerationUnsupportedException(
+              "Your runtime does not support generating " + keyType + " keys", e);
+      fail(requestedServerName, result, unsupported);
+      throw unsupported;
+    } catch (CertificateGenerationUnsupportedException | KeyStoreException | RuntimeException e) {
+      fail(requestedServerName, result, e);
+      throw e;
+    }
+  }
+
+  // Failures aren't cached, so the next handshake for the host tries again
+  private void fail(
+      SNIHostName requestedServerName, CompletableFuture<CertChainAndKey> result, Exception e) {
+    generated.remove(requestedServerName.getAsciiName(), result);
+    result.completeExceptionally(e);
+  }
+
+  private static void awaitGeneration(CompletableFuture<CertChainAndKey> inFlight)
+      throws CertificateGenerationUnsupportedException, KeyStoreException {
+    try {
+      inFlight.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new KeyStoreException("Interrupted waiting for a certificate to be generated", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof CertificateGenerationUnsupportedException) {
+        throw (CertificateGenerationUnsupportedException) cause;
+      } else if (cause instanceof KeyStoreException) {
+        throw (KeyStoreException) cause;
+      } else {
+        throw new KeyStoreException(cause);
+      }
+    }
   }
 }
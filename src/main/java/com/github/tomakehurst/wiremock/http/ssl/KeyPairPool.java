@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http.ssl;
+
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Key pairs generated ahead of time on a background thread, so that certificates for newly seen
+ * hosts can be issued without waiting for key generation (tens to hundreds of milliseconds for a
+ * 2048 bit RSA key) in the middle of a TLS handshake. When a pool runs dry keys are generated on
+ * the calling thread, as they were before.
+ */
+class KeyPairPool {
+
+  static final int DEFAULT_SIZE = 16;
+
+  private static final ExecutorService GENERATOR =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "wiremock-key-pair-generator");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final int size;
+  private final Map<String, BlockingQueue<KeyPair>> pools = new ConcurrentHashMap<>();
+  private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+
+  KeyPairPool(int size) {
+    this.size = size;
+  }
+
+  /** Starts generating key pairs of the given type in the background, if it hasn't already. */
+  void prepare(String keyType) {
+    if (size > 0) {
+      refill(keyType, poolFor(keyType));
+    }
+  }
+
+  KeyPair take(String keyType) throws NoSuchAlgorithmException {
+    if (size == 0) {
+      return CertificateAuthority.generateKeyPair(keyType);
+    }
+
+    final BlockingQueue<KeyPair> pool = poolFor(keyType);
+    final KeyPair pair = pool.poll();
+    refill(keyType, pool);
+    return pair != null ? pair : CertificateAuthority.generateKeyPair(keyType);
+  }
+
+  int available(String keyType) {
+    final BlockingQueue<KeyPair> pool = pools.get(keyType);
+    return pool != null ? pool.size() : 0;
+  }
+
+  private BlockingQueue<KeyPair> poolFor(String keyType) {
+    return pools.computeIfAbsent(keyType, k -> new ArrayBlockingQueue<>(size));
+  }
+
+  private void refill(String keyType, BlockingQueue<KeyPair> pool) {
+    if (pool.remainingCapacity() == 0 || !refilling.add(keyType)) {
+      return;
+    }
+
+    GENERATOR.execute(
+        () -> {
+          try {
+            while (pool.remainingCapacity() > 0) {
+              pool.offer(CertificateAuthority.generateKeyPair(keyType));
+            }
+          } catch (NoSuchAlgorithmException | RuntimeException e) {
+            // Leave the pool as it is; take() will generate on the calling thread and report why
+          } finally {
+            refilling.remove(keyType);
+          }
+        });
+  }
+}
@@ -18,6 +18,7 @@ package com.github.tomakehurst.wiremock.jetty;
 import static com.github.tomakehurst.wiremock.common.Exceptions.throwUnchecked;
 import static com.github.tomakehurst.wiremock.core.WireMockApp.ADMIN_CONTEXT_ROOT;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 
 import com.github.tomakehurst.wiremock.common.*;
 import com.github.tomakehurst.wiremock.core.Options;
@@ -261,6 +262,12 @@ public abstract class JettyHttpServer implements HttpServer {
       JettySettings jettySettings,
       NetworkTrafficListener listener);
 
+  private static Thread newDelayTimer(Runnable runnable) {
+    final Thread thread = new Thread(runnable, "wiremock-delay-timer");
+    thread.setDaemon(true);
+    return thread;
+  }
+
   private ServletContextHandler addMockServiceContext(
       StubRequestHandler stubRequestHandler,
       FileSource fileSource,
@@ -300,6 +307,10 @@ public abstract class JettyHttpServer implements HttpServer {
       mockServiceContext.setAttribute(
           WireMockHandlerDispatchingServlet.ASYNCHRONOUS_RESPONSE_EXECUTOR,
           scheduledExecutorService);
+    } else {
+      scheduledExecutorService = newSingleThreadScheduledExecutor(JettyHttpServer::newDelayTimer);
+      mockServiceContext.setAttribute(
+          WireMockHandlerDispatchingServlet.DELAY_TIMER, scheduledExecutorService);
     }
 
     mockServiceContext.setAttribute(
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.jetty;
+
+import com.github.tomakehurst.wiremock.core.Options;
+import com.github.tomakehurst.wiremock.http.ThreadPoolFactory;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+/**
+ * Builds a thread pool that handles each request on its own virtual thread, so that stubs which
+ * block, e.g. when proxying, don't limit how many requests can be served at once. The container
+ * threads are then only used for Jetty's own non-blocking work such as accepting and selecting.
+ * Requires a JVM that supports virtual threads, i.e. Java 21 or later.
+ */
+public class VirtualThreadPoolFactory implements ThreadPoolFactory {
+
+  @Override
+  public ThreadPool buildThreadPool(Options options) {
+    if (!VirtualThreads.isSupported()) {
+      throw new IllegalStateException(
+          "Virtual threads are not supported by this JVM. Java 21 or later is required.");
+    }
+
+    final QueuedThreadPool threadPool = new QueuedThreadPool(options.containerThreads());
+    threadPool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+    return threadPool;
+  }
+}
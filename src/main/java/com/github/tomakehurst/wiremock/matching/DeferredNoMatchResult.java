@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.matching;
+
+import com.github.tomakehurst.wiremock.stubbing.SubEvent;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import java.util.List;
+
+/**
+ * A result that is already known not to be an exact match. The full result, which is only needed
+ * to report the distance for near misses and diffs, is computed the first time it's asked for.
+ *
+ * <p>Only the sub-events raised by the dimensions checked before the match was rejected are
+ * reported. Those that the remaining matchers (e.g. body patterns) would raise are dropped, as
+ * reporting them would mean fully matching every stub that doesn't match the request.
+ */
+class DeferredNoMatchResult extends MatchResult {
+
+  private final Supplier<MatchResult> fullResult;
+
+  DeferredNoMatchResult(Supplier<MatchResult> fullResult) {
+    this(fullResult, List.of());
+  }
+
+  DeferredNoMatchResult(Supplier<MatchResult> fullResult, List<SubEvent> subEvents) {
+    super(subEvents);
+    this.fullResult = Suppliers.memoize(fullResult);
+  }
+
+  @Override
+  public boolean isExactMatch() {
+    return false;
+  }
+
+  @Override
+  public double getDistance() {
+    return fullResult.get().getDistance();
+  }
+}
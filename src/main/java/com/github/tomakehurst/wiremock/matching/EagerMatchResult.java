@@ -20,6 +20,9 @@ import java.util.List;
 
 public class EagerMatchResult extends MatchResult {
 
+  static final EagerMatchResult EXACT_MATCH = new EagerMatchResult(0);
+  static final EagerMatchResult NO_MATCH = new EagerMatchResult(1);
+
   private final double distance;
 
   EagerMatchResult(double distance) {
@@ -29,22 +29,35 @@ import java.util.stream.Collectors;
 
 public abstract class MatchResult implements Comparable<MatchResult> {
 
-  private final Queue<SubEvent> subEvents;
+  // Most results never carry sub-events, so the queue is only created when the first one arrives
+  private volatile Queue<SubEvent> subEvents;
 
-  public MatchResult() {
-    this.subEvents = new LinkedBlockingQueue<>();
-  }
+  public MatchResult() {}
 
   public MatchResult(List<SubEvent> subEvents) {
-    this.subEvents = new LinkedBlockingQueue<>(subEvents);
+    if (!subEvents.isEmpty()) {
+      this.subEvents = new LinkedBlockingQueue<>(subEvents);
+    }
   }
 
   protected void appendSubEvent(SubEvent subEvent) {
-    subEvents.add(subEvent);
+    Queue<SubEvent> queue = subEvents;
+    if (queue == null) {
+      synchronized (this) {
+        queue = subEvents;
+        if (queue == null) {
+          queue = new LinkedBlockingQueue<>();
+          subEvents = queue;
+        }
+      }
+    }
+
+    queue.add(subEvent);
   }
 
   public List<SubEvent> getSubEvents() {
-    return subEvents.stream().collect(toUnmodifiableList());
+    final Queue<SubEvent> queue = subEvents;
+    return queue != null ? queue.stream().collect(toUnmodifiableList()) : List.of();
   }
 
   @JsonCreator
@@ -57,7 +70,7 @@ public abstract class MatchResult implements Comparable<MatchResult> {
   }
 
   public static MatchResult exactMatch(List<SubEvent> subEvents) {
-    return new EagerMatchResult(0, subEvents);
+    return subEvents.isEmpty() ? EagerMatchResult.EXACT_MATCH : new EagerMatchResult(0, subEvents);
   }
 
   public static MatchResult noMatch(SubEvent... subEvents) {
@@ -65,7 +78,7 @@ public abstract class MatchResult implements Comparable<MatchResult> {
   }
 
   public static MatchResult noMatch(List<SubEvent> subEvents) {
-    return new EagerMatchResult(1, subEvents);
+    return subEvents.isEmpty() ? EagerMatchResult.NO_MATCH : new EagerMatchResult(1, subEvents);
   }
 
   public static MatchResult of(boolean isMatch, SubEvent... subEvents) {
@@ -21,8 +21,10 @@ import static java.util.stream.Collectors.toList;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.JsonPathCache;
 import com.github.tomakehurst.wiremock.common.ListOrSingle;
 import com.github.tomakehurst.wiremock.stubbing.SubEvent;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import java.util.*;
@@ -30,9 +32,12 @@ import java.util.*;
 @JsonSerialize(using = JsonPathPatternJsonSerializer.class)
 public class MatchesJsonPathPattern extends PathPattern {
 
+  private final JsonPath jsonPath;
+
   public MatchesJsonPathPattern(
       @JsonProperty("matchesJsonPath") String expectedJsonPath, StringValuePattern valuePattern) {
     super(expectedJsonPath, valuePattern);
+    jsonPath = compileOrNull(expectedJsonPath);
   }
 
   public MatchesJsonPathPattern(String value) {
@@ -43,6 +48,21 @@ public class MatchesJsonPathPattern extends PathPattern {
     return expectedValue;
   }
 
+  // Invalid expressions are left uncompiled, so that the error is reported when matching, as it
+  // always has been, rather than failing to load the stub
+  private static JsonPath compileOrNull(String expression) {
+    try {
+      return JsonPathCache.compile(expression);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private Object read(String value) {
+    final DocumentContext document = ParsedContent.jsonPathDocument(value);
+    return jsonPath != null ? document.read(jsonPath) : document.read(expectedValue);
+  }
+
   protected MatchResult isSimpleMatch(String value) {
     // For performance reason, don't try to parse XML value
     if (value != null && value.trim().startsWith("<")) {
@@ -54,7 +74,7 @@ public class MatchesJsonPathPattern extends PathPattern {
       return MatchResult.noMatch(SubEvent.warning(message));
     }
     try {
-      Object obj = JsonPath.read(value, expectedValue);
+      Object obj = read(value);
 
       boolean result;
       if (obj instanceof Collection) {
@@ -125,7 +145,7 @@ public class MatchesJsonPathPattern extends PathPattern {
 
     Object obj = null;
     try {
-      obj = JsonPath.read(value, expectedValue);
+      obj = read(value);
     } catch (PathNotFoundException ignored) {
     } catch (Exception e) {
       String error;
@@ -75,7 +75,7 @@ public class MatchesJsonSchemaPattern extends StringValuePattern {
 
     JsonNode jsonNode;
     try {
-      jsonNode = Json.read(json, JsonNode.class);
+      jsonNode = ParsedContent.jsonTree(json);
     } catch (JsonException je) {
       jsonNode = new TextNode(json);
     }
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @JsonSerialize(using = XPathPatternJsonSerializer.class)
@@ -77,70 +78,77 @@ public class MatchesXPathPattern extends PathPattern {
 
   @Override
   protected MatchResult isSimpleMatch(String value) {
-    final XmlNodeFindResult xmlNodeFindResult = findXmlNodes(value);
-    ListOrSingle<XmlNode> nodeList = xmlNodeFindResult.nodes;
-    return MatchResult.of(nodeList != null && nodeList.size() > 0, xmlNodeFindResult.subEvents);
+    return withXmlNodes(
+        value, (nodeList, subEvents) -> MatchResult.of(nodeList.size() > 0, subEvents));
   }
 
   @Override
   protected MatchResult isAdvancedMatch(String value) {
-    final XmlNodeFindResult xmlNodeFindResult = findXmlNodes(value);
-    ListOrSingle<XmlNode> nodeList = xmlNodeFindResult.nodes;
-    if (nodeList == null || nodeList.size() == 0) {
-      return MatchResult.noMatch(xmlNodeFindResult.subEvents);
-    }
-
-    SortedSet<MatchResult> results = new TreeSet<>();
-    for (XmlNode node : nodeList) {
-      results.add(valuePattern.match(node.toString()));
-    }
-
-    return results.last();
+    return withXmlNodes(
+        value,
+        (nodeList, subEvents) -> {
+          if (nodeList.size() == 0) {
+            return MatchResult.noMatch(subEvents);
+          }
+
+          SortedSet<MatchResult> results = new TreeSet<>();
+          for (XmlNode node : nodeList) {
+            results.add(valuePattern.match(node.toString()));
+          }
+
+          return results.last();
+        });
   }
 
   @Override
   public ListOrSingle<String> getExpressionResult(String value) {
-    ListOrSingle<XmlNode> nodeList = findXmlNodes(value).nodes;
-    if (nodeList == null || nodeList.size() == 0) {
-      return ListOrSingle.of();
-    }
-
-    return ListOrSingle.of(nodeList.stream().map(XmlNode::toString).collect(Collectors.toList()));
+    return withXmlNodes(
+        value,
+        (nodeList, subEvents) -> {
+          if (nodeList.size() == 0) {
+            return ListOrSingle.of();
+          }
+
+          return ListOrSingle.of(
+              nodeList.stream().map(XmlNode::toString).collect(Collectors.toList()));
+        });
   }
 
-  private XmlNodeFindResult findXmlNodes(String value) {
+  /**
+   * Finds the nodes matching the XPath expression and passes them to the handler, or an empty list
+   * and a warning if the value can't be parsed or the expression can't be evaluated.
+   */
+  private <T> T withXmlNodes(
+      String value, BiFunction<ListOrSingle<XmlNode>, List<SubEvent>, T> handler) {
     // For performance reason, don't try to parse non XML value
     if (value == null || !value.trim().startsWith("<")) {
       final String message =
           String.format("Warning: failed to parse the XML document\nXML: %s", value);
       notifier().info(message);
-      return new XmlNodeFindResult(null, SubEvent.warning(message));
+      return handler.apply(ListOrSingle.of(), List.of(SubEvent.warning(message)));
     }
 
+    final XmlDocument xmlDocument;
     try {
-      XmlDocument xmlDocument = Xml.parse(value);
-      return new XmlNodeFindResult(xmlDocument.findNodes(expectedValue, xpathNamespaces));
+      xmlDocument = ParsedContent.xmlDocument(value);
     } catch (XmlException e) {
       final String message =
           String.format(
               "Warning: failed to parse the XML document. Reason: %s\nXML: %s",
               e.getMessage(), value);
       notifier().info(message);
-      return new XmlNodeFindResult(null, SubEvent.warning(message));
+      return handler.apply(ListOrSingle.of(), List.of(SubEvent.warning(message)));
+    }
+
+    final ListOrSingle<XmlNode> nodeList;
+    try {
+      nodeList = xmlDocument.findNodes(expectedValue, xpathNamespaces);
     } catch (XPathException e) {
       final String message = "Warning: failed to evaluate the XPath expression " + expectedValue;
       notifier().info(message);
-      return new XmlNodeFindResult(null, SubEvent.warning(message));
+      return handler.apply(ListOrSingle.of(), List.of(SubEvent.warning(message)));
     }
-  }
-
-  private static class XmlNodeFindResult {
-    final ListOrSingle<XmlNode> nodes;
-    final List<SubEvent> subEvents;
 
-    public XmlNodeFindResult(ListOrSingle<XmlNode> nodes, SubEvent... subEvents) {
-      this.nodes = nodes;
-      this.subEvents = List.of(subEvents);
-    }
+    return handler.apply(nodeList != null ? nodeList : ListOrSingle.of(), List.of());
   }
 }
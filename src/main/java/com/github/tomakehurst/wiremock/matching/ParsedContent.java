@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.matching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.xml.Xml;
+import com.github.tomakehurst.wiremock.common.xml.XmlDocument;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import java.util.function.Supplier;
+
+/**
+ * The parsed forms of a request body, shared by all the content patterns that match against it
+ * while the request is matched against the stubs, so that a body checked by many stubs is only
+ * decoded and parsed once. Parse failures are kept too, and rethrown to each caller.
+ *
+ * <p>The forms belong to a {@link Scope} opened on the matching thread for the duration of the
+ * match and are dropped when it's closed. Values matched outside a scope, or that aren't the
+ * scoped request's body, are parsed every time.
+ */
+public class ParsedContent {
+
+  private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+  private final Parsed<JsonNode> jsonTree;
+  private final Parsed<DocumentContext> jsonPathDocument;
+  private final Parsed<XmlDocument> xmlDocument;
+
+  private ParsedContent(String value) {
+    jsonTree = new Parsed<>(() -> Json.read(value, JsonNode.class));
+    jsonPathDocument = new Parsed<>(() -> JsonPath.parse(value));
+    xmlDocument = new Parsed<>(() -> Xml.parse(value));
+  }
+
+  /**
+   * Shares the decoded body of the request and its parsed forms between everything matched against
+   * the request on this thread until the returned scope is closed.
+   */
+  public static Scope openScope(Request request) {
+    final Scope scope = new Scope(request, CURRENT_SCOPE.get());
+    CURRENT_SCOPE.set(scope);
+    return scope;
+  }
+
+  static String bodyAsString(Request request) {
+    final Scope scope = CURRENT_SCOPE.get();
+    return scope != null && scope.request == request
+        ? scope.bodyAsString()
+        : request.getBodyAsString();
+  }
+
+  static JsonNode jsonTree(String value) {
+    final ParsedContent content = scopedTo(value);
+    return content != null ? content.jsonTree.get() : Json.read(value, JsonNode.class);
+  }
+
+  static DocumentContext jsonPathDocument(String value) {
+    final ParsedContent content = scopedTo(value);
+    return content != null ? content.jsonPathDocument.get() : JsonPath.parse(value);
+  }
+
+  static XmlDocument xmlDocument(String value) {
+    final ParsedContent content = scopedTo(value);
+    return content != null ? content.xmlDocument.get() : Xml.parse(value);
+  }
+
+  private static ParsedContent scopedTo(String value) {
+    final Scope scope = CURRENT_SCOPE.get();
+    return scope != null && value != null && value == scope.bodyAsString
+        ? scope.parsedBody()
+        : null;
+  }
+
+  public static class Scope implements AutoCloseable {
+
+    private final Request request;
+    private final Scope enclosing;
+    private String bodyAsString;
+    private ParsedContent parsedBody;
+
+    private Scope(Request request, Scope enclosing) {
+      this.request = request;
+      this.enclosing = enclosing;
+    }
+
+    private String bodyAsString() {
+      if (bodyAsString == null) {
+        bodyAsString = request.getBodyAsString();
+      }
+      return bodyAsString;
+    }
+
+    private ParsedContent parsedBody() {
+      if (parsedBody == null) {
+        parsedBody = new ParsedContent(bodyAsString);
+      }
+      return parsedBody;
+    }
+
+    @Override
+    public void close() {
+      if (enclosing != null) {
+        CURRENT_SCOPE.set(enclosing);
+      } else {
+        CURRENT_SCOPE.remove();
+      }
+    }
+  }
+
+  private static class Parsed<T> {
+
+    private Supplier<T> parser;
+    private T result;
+    private RuntimeException failure;
+
+    Parsed(Supplier<T> parser) {
+      this.parser = parser;
+    }
+
+    T get() {
+      if (parser != null) {
+        try {
+          result = parser.get();
+        } catch (RuntimeException e) {
+          failure = e;
+        }
+        // Drop the parser, and with it the value, once it's no longer needed
+        parser = null;
+      }
+
+      if (failure != null) {
+        throw failure;
+      }
+
+      return result;
+    }
+  }
+}
@@ -100,13 +100,28 @@ public class RequestPattern implements NamedValueMatcher<Request> {
         new RequestMatcher() {
           @Override
           public MatchResult match(Request request) {
+            if (!cheapDimensionsMatch(request)) {
+              return new DeferredNoMatchResult(
+                  () -> fullMatch(request, RequestPattern.this.url.match(request.getUrl())));
+            }
+
+            final MatchResult urlMatchResult = RequestPattern.this.url.match(request.getUrl());
+            if (!urlMatchResult.isExactMatch()) {
+              return new DeferredNoMatchResult(
+                  () -> fullMatch(request, urlMatchResult), urlMatchResult.getSubEvents());
+            }
+
+            return fullMatch(request, urlMatchResult);
+          }
+
+          private MatchResult fullMatch(Request request, MatchResult urlMatchResult) {
             List<WeightedMatchResult> matchResults =
                 new ArrayList<>(
                     asList(
                         weight(schemeMatches(request), 3.0),
                         weight(hostMatches(request), 10.0),
                         weight(portMatches(request), 10.0),
-                        weight(RequestPattern.this.url.match(request.getUrl()), 10.0),
+                        weight(urlMatchResult, 10.0),
                         weight(RequestPattern.this.method.match(request.getMethod()), 3.0),
                         weight(allPathParamsMatch(request)),
                         weight(allHeadersMatchResult(request)),
@@ -236,19 +251,44 @@ public class RequestPattern implements NamedValueMatcher<Request> {
 
   public MatchResult match(Request request, Map<String, RequestMatcherExtension> customMatchers) {
     if (customMatcherDefinition != null) {
-      RequestMatcherExtension requestMatcher =
-          getFirstNonNull(customMatchers.get(customMatcherDefinition.getName()), NEVER);
-
       MatchResult standardMatchResult = matcher.match(request);
-      MatchResult customMatchResult =
-          requestMatcher.match(request, customMatcherDefinition.getParameters());
+      if (standardMatchResult instanceof DeferredNoMatchResult) {
+        return new DeferredNoMatchResult(
+            () -> matchWithCustomMatcher(standardMatchResult, request, customMatchers),
+            standardMatchResult.getSubEvents());
+      }
 
-      return MatchResult.aggregate(standardMatchResult, customMatchResult);
+      return matchWithCustomMatcher(standardMatchResult, request, customMatchers);
     }
 
     return matcher.match(request);
   }
 
+  private MatchResult matchWithCustomMatcher(
+      MatchResult standardMatchResult,
+      Request request,
+      Map<String, RequestMatcherExtension> customMatchers) {
+    RequestMatcherExtension requestMatcher =
+        getFirstNonNull(customMatchers.get(customMatcherDefinition.getName()), NEVER);
+
+    MatchResult customMatchResult =
+        requestMatcher.match(request, customMatcherDefinition.getParameters());
+
+    return MatchResult.aggregate(standardMatchResult, customMatchResult);
+  }
+
+  /**
+   * Checks the dimensions that are cheap to evaluate so that requests which obviously don't match
+   * can be rejected without evaluating headers, bodies etc. or allocating the weighted results
+   * needed to calculate a distance. The URL is checked separately by the caller so that its result
+   * can be reused by the full match.
+   */
+  private boolean cheapDimensionsMatch(Request request) {
+    return (scheme == null || scheme.equals(request.getScheme()))
+        && (port == null || request.getPort() == port)
+        && method.match(request.getMethod()).isExactMatch();
+  }
+
   private MatchResult allCookiesMatch(final Request request) {
     if (cookies != null && !cookies.isEmpty()) {
       return MatchResult.aggregate(
@@ -376,10 +416,10 @@ public class RequestPattern implements NamedValueMatcher<Request> {
                   (Function<ContentPattern, MatchResult>)
                       pattern -> {
                         if (StringValuePattern.class.isAssignableFrom(pattern.getClass())) {
-                          String body =
-                              StringUtils.isEmpty(request.getBodyAsString())
-                                  ? null
-                                  : request.getBodyAsString();
+                          String body = ParsedContent.bodyAsString(request);
+                          if (StringUtils.isEmpty(body)) {
+                            body = null;
+                          }
                           return pattern.match(body);
                         }
 
@@ -17,23 +17,33 @@ package com.github.tomakehurst.wiremock.recording;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.proxyAllTo;
 import static com.github.tomakehurst.wiremock.common.LocalNotifier.notifier;
-import static com.google.common.collect.Iterables.indexOf;
+import static com.github.tomakehurst.wiremock.stubbing.StubImport.Options.DuplicatePolicy.OVERWRITE;
 
+import com.github.tomakehurst.wiremock.admin.model.ServeEventQuery;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.extension.Extensions;
 import com.github.tomakehurst.wiremock.extension.StubMappingTransformer;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.store.BlobStore;
 import com.github.tomakehurst.wiremock.store.RecorderStateStore;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubImport;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class Recorder {
 
+  // Serve events are turned into stubs a batch at a time, so that only one batch of stubs holds
+  // response bodies that are yet to be extracted to files
+  static final int SNAPSHOT_BATCH_SIZE = 1000;
+
   private final Admin admin;
   private final Extensions extensions;
   private final BlobStore filesBlobStore;
@@ -60,8 +70,9 @@ public class Recorder {
       admin.addStubMapping(proxyMapping);
     }
 
-    List<ServeEvent> serveEvents = admin.getServeEvents().getServeEvents();
-    UUID initialId = serveEvents.isEmpty() ? null : serveEvents.get(0).getId();
+    List<ServeEvent> newestServeEvents =
+        admin.getServeEvents(ServeEventQuery.ALL.withPage(1, 0, null)).getServeEvents();
+    UUID initialId = newestServeEvents.isEmpty() ? null : newestServeEvents.get(0).getId();
     state = state.start(initialId, proxyMapping, spec);
     stateStore.set(state);
 
@@ -88,23 +99,34 @@ public class Recorder {
       return SnapshotRecordResult.empty();
     }
 
-    int startIndex =
-        state.getStartingServeEventId() == null
-            ? serveEvents.size()
-            : indexOf(serveEvents, withId(state.getStartingServeEventId())::test);
-    int endIndex = indexOf(serveEvents, withId(state.getFinishingServeEventId())::test);
+    // Events are newest first, so the recording runs from the finishing event up to, but not
+    // including, the event that was newest when recording started
+    UUID startingId = state.getStartingServeEventId();
+    UUID finishingId = state.getFinishingServeEventId();
+    int endIndex = -1;
+    int startIndex = serveEvents.size();
+    for (int i = 0; i < serveEvents.size(); i++) {
+      UUID id = serveEvents.get(i).getId();
+      if (endIndex == -1 && id.equals(finishingId)) {
+        endIndex = i;
+      }
+      if (id.equals(startingId)) {
+        startIndex = i;
+        break;
+      }
+    }
     List<ServeEvent> eventsToSnapshot = serveEvents.subList(endIndex, startIndex);
 
     SnapshotRecordResult result = takeSnapshot(eventsToSnapshot, state.getSpec());
 
-    notifier().info("Stopped recording. Stubs captured:\n" + Json.write(result.getStubMappings()));
+    notifier()
+        .info(
+            String.format(
+                "Stopped recording. %d stubs captured from %d requests",
+                result.getStubMappings().size(), eventsToSnapshot.size()));
     return result;
   }
 
-  private static Predicate<ServeEvent> withId(final UUID id) {
-    return input -> input.getId().equals(id);
-  }
-
   public SnapshotRecordResult takeSnapshot(List<ServeEvent> serveEvents, RecordSpec recordSpec) {
     final List<StubMapping> stubMappings =
         serveEventsToStubMappings(
@@ -114,13 +136,16 @@ public class Recorder {
                 recordSpec.getCaptureHeaders(), recordSpec.getRequestBodyPatternFactory()),
             getStubMappingPostProcessor(recordSpec));
 
-    for (StubMapping stubMapping : stubMappings) {
-      if (recordSpec.shouldPersist()) {
-        stubMapping.setPersistent(true);
-      }
-      admin.addStubMapping(stubMapping);
+    if (recordSpec.shouldPersist()) {
+      stubMappings.forEach(stubMapping -> stubMapping.setPersistent(true));
     }
 
+    // An import gives precedence to its first stub, whereas the stub for the earliest recorded
+    // request (the last here) has always taken precedence, so they're imported in reverse
+    List<StubMapping> toImport = new ArrayList<>(stubMappings);
+    Collections.reverse(toImport);
+    admin.importStubs(new StubImport(toImport, new StubImport.Options(OVERWRITE, false)));
+
     return recordSpec.getOutputFormat().format(stubMappings);
   }
 
@@ -129,13 +154,38 @@ public class Recorder {
       ProxiedServeEventFilters serveEventFilters,
       SnapshotStubMappingGenerator stubMappingGenerator,
       SnapshotStubMappingPostProcessor stubMappingPostProcessor) {
-    final List<StubMapping> stubMappings =
-        serveEventsResult.stream()
-            .filter(serveEventFilters)
-            .map(stubMappingGenerator)
-            .collect(Collectors.toList());
+    final List<StubMapping> stubMappings = new ArrayList<>();
+    final Set<RequestPattern> seenRequests = new HashSet<>();
+    int truncated = 0;
+    for (int from = 0; from < serveEventsResult.size(); from += SNAPSHOT_BATCH_SIZE) {
+      final List<ServeEvent> batch =
+          serveEventsResult.subList(
+              from, Math.min(from + SNAPSHOT_BATCH_SIZE, serveEventsResult.size()));
+      final List<ServeEvent> matching =
+          batch.parallelStream().filter(serveEventFilters).collect(Collectors.toList());
+      final List<StubMapping> generated =
+          matching.parallelStream()
+              .filter(Recorder::hasWholeResponseBody)
+              .map(stubMappingGenerator)
+              .collect(Collectors.toList());
+      truncated += matching.size() - generated.size();
+      stubMappings.addAll(stubMappingPostProcessor.processBatch(generated, seenRequests));
+    }
+
+    if (truncated > 0) {
+      notifier()
+          .error(
+              String.format(
+                  "Not recording %d stubs as only part of their response bodies were captured",
+                  truncated));
+    }
+
+    stubMappingPostProcessor.finish(stubMappings);
+    return stubMappings;
+  }
 
-    return stubMappingPostProcessor.process(stubMappings);
+  private static boolean hasWholeResponseBody(ServeEvent serveEvent) {
+    return serveEvent.getResponse() == null || !serveEvent.getResponse().isBodyTruncated();
   }
 
   public SnapshotStubMappingPostProcessor getStubMappingPostProcessor(RecordSpec recordSpec) {
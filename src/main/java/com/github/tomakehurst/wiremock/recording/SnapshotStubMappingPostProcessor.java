@@ -19,11 +19,11 @@ import static java.util.stream.Collectors.toList;
 
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Multiset;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Performs stateful post-processing tasks on stub mappings generated from ServeEvents:
@@ -33,6 +33,9 @@ import java.util.List;
  *   <li>Detect duplicate requests and either discard them or turn them into scenarios.
  *   <li>Extract response bodies to a separate file, if applicable.
  * </ol>
+ *
+ * <p>Large snapshots can be processed in batches with {@link #processBatch(Collection, Set)},
+ * followed by {@link #finish(List)} once every batch has been processed.
  */
 public class SnapshotStubMappingPostProcessor {
   private final boolean shouldRecordRepeatsAsScenarios;
@@ -52,27 +55,31 @@ public class SnapshotStubMappingPostProcessor {
   }
 
   public List<StubMapping> process(Collection<StubMapping> stubMappings) {
+    List<StubMapping> processedStubMappings = processBatch(stubMappings, new HashSet<>());
+    finish(processedStubMappings);
+    return processedStubMappings;
+  }
+
+  /**
+   * Transforms the given stub mappings, discards repeated requests and extracts bodies.
+   *
+   * @param seenRequests requests of the stub mappings in earlier batches, updated with this one's
+   * @return the batch's stub mappings that should be kept, in order
+   */
+  public List<StubMapping> processBatch(
+      Collection<StubMapping> stubMappings, Set<RequestPattern> seenRequests) {
     // 1. Run any applicable StubMappingTransformers against the stub mappings.
     List<StubMapping> transformedStubMappings =
         stubMappings.stream().map(transformerRunner).collect(toList());
 
-    // 2. Detect duplicate requests and either discard them or turn them into scenarios.
-    Multiset<RequestPattern> requestCounts = HashMultiset.create();
+    // 2. Detect duplicate requests and discard them if shouldRecordRepeatsAsScenarios is not
+    // enabled. Otherwise they're put into scenarios by finish().
     List<StubMapping> processedStubMappings = new ArrayList<>();
     for (StubMapping transformedStubMapping : transformedStubMappings) {
-      requestCounts.add(transformedStubMapping.getRequest());
-
-      // Skip duplicate requests if shouldRecordRepeatsAsScenarios is not enabled
-      if (requestCounts.count(transformedStubMapping.getRequest()) > 1
-          && !shouldRecordRepeatsAsScenarios) {
-        continue;
+      if (seenRequests.add(transformedStubMapping.getRequest())
+          || shouldRecordRepeatsAsScenarios) {
+        processedStubMappings.add(transformedStubMapping);
       }
-
-      processedStubMappings.add(transformedStubMapping);
-    }
-
-    if (shouldRecordRepeatsAsScenarios) {
-      new ScenarioProcessor().putRepeatedRequestsInScenarios(processedStubMappings);
     }
 
     // 3. Extract response bodies to a separate file, if applicable.
@@ -81,15 +88,21 @@ public class SnapshotStubMappingPostProcessor {
     return processedStubMappings;
   }
 
+  /** Puts repeated requests into scenarios, if enabled, once every batch has been processed. */
+  public void finish(List<StubMapping> processedStubMappings) {
+    if (shouldRecordRepeatsAsScenarios) {
+      new ScenarioProcessor().putRepeatedRequestsInScenarios(processedStubMappings);
+    }
+  }
+
+  // Bodies are written to the files store concurrently, as each is a separate file
   private void extractStubMappingBodies(List<StubMapping> stubMappings) {
     if (bodyExtractMatcher == null) {
       return;
     }
 
-    for (StubMapping stubMapping : stubMappings) {
-      if (bodyExtractMatcher.match(stubMapping.getResponse()).isExactMatch()) {
-        bodyExtractor.extractInPlace(stubMapping);
-      }
-    }
+    stubMappings.parallelStream()
+        .filter(stubMapping -> bodyExtractMatcher.match(stubMapping.getResponse()).isExactMatch())
+        .forEach(bodyExtractor::extractInPlace);
   }
 }
@@ -34,14 +34,19 @@ import com.github.tomakehurst.wiremock.core.FaultInjector;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockApp;
 import com.github.tomakehurst.wiremock.http.*;
+import com.github.tomakehurst.wiremock.jetty.JettyUtils;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
@@ -51,11 +56,14 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
   public static final String SHOULD_FORWARD_TO_FILES_CONTEXT = "shouldForwardToFilesContext";
   public static final String ASYNCHRONOUS_RESPONSE_EXECUTOR =
       WireMockHandlerDispatchingServlet.class.getSimpleName() + ".asynchronousResponseExecutor";
+  public static final String DELAY_TIMER =
+      WireMockHandlerDispatchingServlet.class.getSimpleName() + ".delayTimer";
   public static final String MAPPED_UNDER_KEY = "mappedUnder";
 
   private static final long serialVersionUID = -6602042274260495538L;
 
   private ScheduledExecutorService scheduledExecutorService;
+  private ScheduledExecutorService delayTimer;
 
   private RequestHandler requestHandler;
   private FaultInjectorFactory faultHandlerFactory;
@@ -78,6 +86,7 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
 
     scheduledExecutorService =
         (ScheduledExecutorService) context.getAttribute(ASYNCHRONOUS_RESPONSE_EXECUTOR);
+    delayTimer = (ScheduledExecutorService) context.getAttribute(DELAY_TIMER);
 
     String handlerClassName = config.getInitParameter(RequestHandler.HANDLER_CLASS_KEY);
     String faultInjectorFactoryClassName =
@@ -171,7 +180,17 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
     @Override
     public void respond(
         final Request request, final Response response, Map<String, Object> attributes) {
+      respond(request, response, attributes, () -> {});
+    }
+
+    @Override
+    public void respond(
+        final Request request,
+        final Response response,
+        Map<String, Object> attributes,
+        Runnable afterSent) {
       if (Thread.currentThread().isInterrupted()) {
+        afterSent.run();
         return;
       }
 
@@ -179,9 +198,10 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
       attributes.forEach(httpServletRequest::setAttribute);
 
       if (isAsyncSupported(response, httpServletRequest)) {
-        respondAsync(request, response);
+        respondAsync(request, response, afterSent);
       } else {
         respondSync(request, response);
+        afterSent.run();
       }
     }
 
@@ -198,24 +218,114 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
       }
     }
 
+    // Streamed bodies are sent before respond() returns, so that they're captured by the time the
+    // serve event is completed and the upstream response is never left waiting on a delay
     private boolean isAsyncSupported(Response response, HttpServletRequest httpServletRequest) {
-      return scheduledExecutorService != null
-          && response.getInitialDelay() > 0
+      return (scheduledExecutorService != null || delayTimer != null)
+          && !response.isBodyStreamed()
+          && (response.getInitialDelay() > 0 || shouldDribble(response))
           && httpServletRequest.isAsyncSupported();
     }
 
-    private void respondAsync(final Request request, final Response response) {
+    private boolean shouldDribble(Response response) {
+      return response.wasConfigured()
+          && response.getFault() == null
+          && response.shouldAddChunkedDribbleDelay();
+    }
+
+    // The serve event is only completed, and post serve actions and listeners only run, once the
+    // delayed response has finished being sent
+    private void respondAsync(final Request request, final Response response, Runnable afterSent) {
       final AsyncContext asyncContext = httpServletRequest.startAsync();
-      scheduledExecutorService.schedule(
+      // Delays and dribbling aren't bounded by the container's async timeout, only by its idle one
+      asyncContext.setTimeout(0);
+      schedule(
+          asyncContext,
           () -> {
+            if (shouldDribble(response)) {
+              dribbleAsync(asyncContext, response, afterSent);
+              return;
+            }
+
             try {
               respondTo(request, response);
             } finally {
-              asyncContext.complete();
+              complete(asyncContext, afterSent);
+            }
+          },
+          response.getInitialDelay());
+    }
+
+    private void dribbleAsync(AsyncContext asyncContext, Response response, Runnable afterSent) {
+      try {
+        applyResponseHead(response, httpServletResponse);
+        byte[] body = response.getBodyStream().readAllBytes();
+        ServletOutputStream out = httpServletResponse.getOutputStream();
+
+        if (body.length < 1) {
+          notifier.error("Cannot chunk dribble delay when no body set");
+          out.close();
+          complete(asyncContext, afterSent);
+          return;
+        }
+
+        ChunkedDribbleDelay chunkedDribbleDelay = response.getChunkedDribbleDelay();
+        byte[][] chunkedBody = BodyChunker.chunkBody(body, chunkedDribbleDelay.getNumberOfChunks());
+        int chunkInterval = chunkedDribbleDelay.getTotalDuration() / chunkedBody.length;
+        writeChunkLater(asyncContext, out, chunkedBody, 0, chunkInterval, afterSent);
+      } catch (Exception e) {
+        complete(asyncContext, afterSent);
+        throwUnchecked(e);
+      }
+    }
+
+    private void writeChunkLater(
+        AsyncContext asyncContext,
+        ServletOutputStream out,
+        byte[][] chunkedBody,
+        int chunkIndex,
+        int chunkInterval,
+        Runnable afterSent) {
+      schedule(
+          asyncContext,
+          () -> {
+            try {
+              out.write(chunkedBody[chunkIndex]);
+              out.flush();
+              if (chunkIndex + 1 < chunkedBody.length) {
+                writeChunkLater(
+                    asyncContext, out, chunkedBody, chunkIndex + 1, chunkInterval, afterSent);
+              } else {
+                out.close();
+                complete(asyncContext, afterSent);
+              }
+            } catch (IOException e) {
+              // Most likely the client timing out, which is a completely valid outcome
+              complete(asyncContext, afterSent);
             }
           },
-          response.getInitialDelay(),
-          MILLISECONDS);
+          chunkInterval);
+    }
+
+    private void complete(AsyncContext asyncContext, Runnable afterSent) {
+      asyncContext.complete();
+      afterSent.run();
+    }
+
+    // The shared delay timer only keeps time, handing the work back to the container's threads so
+    // that it's never held up by writing a response. Tasks run with this server's notifier, as
+    // they may be on a thread that has never served one of its requests.
+    private void schedule(AsyncContext asyncContext, Runnable task, long delayMillis) {
+      final Runnable withNotifier =
+          () -> {
+            LocalNotifier.set(notifier);
+            task.run();
+          };
+      if (scheduledExecutorService != null) {
+        scheduledExecutorService.schedule(withNotifier, delayMillis, MILLISECONDS);
+      } else {
+        delayTimer.schedule(() -> asyncContext.start(withNotifier), delayMillis, MILLISECONDS);
+      }
     }
 
     private void respondTo(Request request, Response response) {
@@ -245,6 +355,21 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
       return;
     }
 
+    applyResponseHead(response, httpServletResponse);
+
+    if (response.shouldAddChunkedDribbleDelay()) {
+      writeAndTranslateExceptionsWithChunkedDribbleDelay(
+          httpServletResponse, response.getBodyStream(), response.getChunkedDribbleDelay());
+    } else if (response.getBodyFile() != null && JettyUtils.isJetty()) {
+      writeFileAndTranslateExceptions(httpServletResponse, response.getBodyFile());
+    } else if (response.isBodyStreamed()) {
+      writeStreamedAndTranslateExceptions(httpServletResponse, response.getBodyStream());
+    } else {
+      writeAndTranslateExceptions(httpServletResponse, response.getBodyStream());
+    }
+  }
+
+  private void applyResponseHead(Response response, HttpServletResponse httpServletResponse) {
     if (response.getStatusMessage() == null) {
       httpServletResponse.setStatus(response.getStatus());
     } else {
@@ -270,14 +395,7 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
     if ((chunkedEncodingPolicy == NEVER
             || (chunkedEncodingPolicy == BODY_FILE && response.hasInlineBody()))
         && httpServletResponse.getHeader(CONTENT_LENGTH) == null) {
-      httpServletResponse.setContentLength(response.getBody().length);
-    }
-
-    if (response.shouldAddChunkedDribbleDelay()) {
-      writeAndTranslateExceptionsWithChunkedDribbleDelay(
-          httpServletResponse, response.getBodyStream(), response.getChunkedDribbleDelay());
-    } else {
-      writeAndTranslateExceptions(httpServletResponse, response.getBodyStream());
+      httpServletResponse.setContentLengthLong(response.getBodyLength());
     }
   }
 
@@ -302,6 +420,47 @@ public class WireMockHandlerDispatchingServlet extends HttpServlet {
     }
   }
 
+  // Flushes whenever no more of the body has arrived yet, so that the client gets each part of it
+  // as soon as possible rather than when the container's buffer fills up
+  private static void writeStreamedAndTranslateExceptions(
+      HttpServletResponse httpServletResponse, InputStream content) {
+    try (ServletOutputStream out = httpServletResponse.getOutputStream()) {
+      final byte[] buffer = new byte[8192];
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+        if (content.available() == 0) {
+          out.flush();
+        }
+      }
+    } catch (IOException e) {
+      throwUnchecked(e);
+    } finally {
+      try {
+        content.close();
+      } catch (IOException e) {
+        // well, we tried
+      }
+    }
+  }
+
+  // Lets Jetty send the file straight from the channel using its own pooled buffers, rather than
+  // copying it through the heap via an InputStream
+  private static void writeFileAndTranslateExceptions(
+      HttpServletResponse httpServletResponse, File file) {
+    try (ServletOutputStream out = httpServletResponse.getOutputStream();
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (out instanceof org.eclipse.jetty.server.HttpOutput) {
+        ((org.eclipse.jetty.server.HttpOutput) out).sendContent(channel);
+      } else {
+        channel.transferTo(0, channel.size(), Channels.newChannel(out));
+        out.flush();
+      }
+    } catch (IOException e) {
+      throwUnchecked(e);
+    }
+  }
+
   private void writeAndTranslateExceptionsWithChunkedDribbleDelay(
       HttpServletResponse httpServletResponse,
       InputStream bodyStream,
@@ -39,6 +39,7 @@ import com.github.tomakehurst.wiremock.http.trafficlistener.ConsoleNotifyingWire
 import com.github.tomakehurst.wiremock.http.trafficlistener.DoNothingWiremockNetworkTrafficListener;
 import com.github.tomakehurst.wiremock.http.trafficlistener.WiremockNetworkTrafficListener;
 import com.github.tomakehurst.wiremock.jetty.QueuedThreadPoolFactory;
+import com.github.tomakehurst.wiremock.jetty.VirtualThreadPoolFactory;
 import com.github.tomakehurst.wiremock.security.Authenticator;
 import com.github.tomakehurst.wiremock.security.BasicAuthenticator;
 import com.github.tomakehurst.wiremock.security.NoAuthenticator;
@@ -49,6 +50,8 @@ import com.google.common.io.Resources;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.Optional;
 import java.util.Set;
@@ -93,8 +96,10 @@ public class CommandLineOptions implements Options {
   private static final String JETTY_IDLE_TIMEOUT = "jetty-idle-timeout";
   private static final String ROOT_DIR = "root-dir";
   private static final String CONTAINER_THREADS = "container-threads";
+  private static final String VIRTUAL_THREADS = "virtual-threads";
   private static final String GLOBAL_RESPONSE_TEMPLATING = "global-response-templating";
   public static final String FILENAME_TEMPLATE = "filename-template";
+  private static final String MAPPINGS_SNAPSHOT = "mappings-snapshot";
   private static final String LOCAL_RESPONSE_TEMPLATING = "local-response-templating";
   private static final String ADMIN_API_BASIC_AUTH = "admin-api-basic-auth";
   private static final String ADMIN_API_REQUIRE_HTTPS = "admin-api-require-https";
@@ -116,9 +121,18 @@ public class CommandLineOptions implements Options {
   private static final String DISABLE_STRICT_HTTP_HEADERS = "disable-strict-http-headers";
   private static final String LOAD_RESOURCES_FROM_CLASSPATH = "load-resources-from-classpath";
   private static final String LOGGED_RESPONSE_BODY_SIZE_LIMIT = "logged-response-body-size-limit";
+  private static final String ASYNC_NOT_MATCHED_DIFFS = "async-not-matched-diffs";
+  private static final String MAX_NOT_MATCHED_DIFFS_PER_SECOND =
+      "max-not-matched-diffs-per-second";
   private static final String ALLOW_PROXY_TARGETS = "allow-proxy-targets";
   private static final String DENY_PROXY_TARGETS = "deny-proxy-targets";
   private static final String PROXY_TIMEOUT = "proxy-timeout";
+  private static final String STREAM_PROXY_RESPONSES = "stream-proxy-responses";
+  private static final String MAX_CAPTURED_PROXY_RESPONSE_BODY_SIZE =
+      "max-captured-proxy-response-body-size";
+  private static final String PROXY_TARGET_DNS_CACHE_TTL = "proxy-target-dns-cache-ttl";
+  private static final String PROXY_TARGET_DNS_NEGATIVE_CACHE_TTL =
+      "proxy-target-dns-negative-cache-ttl";
 
   private static final String PROXY_PASS_THROUGH = "proxy-pass-through";
 
@@ -130,6 +144,7 @@ public class CommandLineOptions implements Options {
   private final MappingsSource mappingsSource;
   private final ExtensionDeclarations extensions;
   private final FilenameMaker filenameMaker;
+  private final TargetAddressCache proxyTargetAddressCache;
 
   private String helpText;
   private Integer actualHttpPort;
@@ -150,6 +165,8 @@ public class CommandLineOptions implements Options {
         .withRequiredArg();
     optionParser.accepts(BIND_ADDRESS, "The IP to listen connections").withRequiredArg();
     optionParser.accepts(CONTAINER_THREADS, "The number of container threads").withRequiredArg();
+    optionParser.accepts(
+        VIRTUAL_THREADS, "Handle each request on a virtual thread. Requires Java 21 or later.");
     optionParser.accepts(TIMEOUT, "The default global timeout.");
     optionParser.accepts(
         DISABLE_OPTIMIZE_XML_FACTORIES_LOADING,
@@ -265,6 +282,11 @@ public class CommandLineOptions implements Options {
     optionParser.accepts(
         GLOBAL_RESPONSE_TEMPLATING, "Preprocess all responses with Handlebars templates");
     optionParser.accepts(FILENAME_TEMPLATE, "Add filename template").withRequiredArg();
+    optionParser
+        .accepts(
+            MAPPINGS_SNAPSHOT,
+            "Path of a binary snapshot of the stub mappings, loaded instead of the mapping files while they're unchanged")
+        .withRequiredArg();
     optionParser.accepts(
         LOCAL_RESPONSE_TEMPLATING, "Preprocess selected responses with Handlebars templates");
     optionParser
@@ -349,6 +371,14 @@ public class CommandLineOptions implements Options {
             LOGGED_RESPONSE_BODY_SIZE_LIMIT,
             "Maximum size for response bodies stored in the request journal beyond which truncation will be applied")
         .withRequiredArg();
+    optionParser.accepts(
+        ASYNC_NOT_MATCHED_DIFFS,
+        "Render the diff for unmatched requests in the background so that a plain 404 is returned straight away. The diff is still recorded in the request journal.");
+    optionParser
+        .accepts(
+            MAX_NOT_MATCHED_DIFFS_PER_SECOND,
+            "Maximum number of diffs to render per second for unmatched requests. Unmatched requests beyond this get a plain 404 and no diff. Defaults to no limit.")
+        .withRequiredArg();
     optionParser
         .accepts(
             ALLOW_PROXY_TARGETS,
@@ -362,6 +392,24 @@ public class CommandLineOptions implements Options {
     optionParser
         .accepts(PROXY_TIMEOUT, "Timeout in milliseconds for requests to proxy")
         .withRequiredArg();
+    optionParser.accepts(
+        STREAM_PROXY_RESPONSES,
+        "Stream proxied response bodies to the client as they arrive instead of reading them into memory first. Only the start of each body is captured for the request journal and recorder.");
+    optionParser
+        .accepts(
+            MAX_CAPTURED_PROXY_RESPONSE_BODY_SIZE,
+            "Maximum number of bytes captured from each streamed proxy response body. Defaults to 1MB.")
+        .withRequiredArg();
+    optionParser
+        .accepts(
+            PROXY_TARGET_DNS_CACHE_TTL,
+            "Time in milliseconds for which proxy target host resolutions and allow/deny verdicts are cached. 0 disables caching. Defaults to 30000. Webhooks only use this when given the server's proxy target address cache.")
+        .withRequiredArg();
+    optionParser
+        .accepts(
+            PROXY_TARGET_DNS_NEGATIVE_CACHE_TTL,
+            "Time in milliseconds for which failed proxy target host resolutions are cached. 0 disables caching. Defaults to 10000. Webhooks only use this when given the server's proxy target address cache.")
+        .withRequiredArg();
     optionParser
         .accepts(PROXY_PASS_THROUGH, "Flag to control browser proxy pass through")
         .withRequiredArg();
@@ -381,7 +429,7 @@ public class CommandLineOptions implements Options {
       fileSource = new SingleRootFileSource((String) optionSet.valueOf(ROOT_DIR));
     }
 
-    stores = new DefaultStores(fileSource);
+    stores = new DefaultStores(fileSource, maxRequestJournalEntries().orElse(null));
 
     if (optionSet.has(PROXY_PASS_THROUGH)) {
       GlobalSettings newSettings =
@@ -396,7 +444,10 @@ public class CommandLineOptions implements Options {
     }
 
     filenameMaker = new FilenameMaker(getFilenameTemplateOption());
-    mappingsSource = new JsonFileMappingsSource(fileSource.child(MAPPINGS_ROOT), filenameMaker);
+    mappingsSource =
+        new JsonFileMappingsSource(
+            fileSource.child(MAPPINGS_ROOT), filenameMaker, notifier(), getMappingsSnapshotFile());
+    proxyTargetAddressCache = buildProxyTargetAddressCache();
     buildExtensions();
 
     actualHttpPort = null;
@@ -410,6 +461,12 @@ public class CommandLineOptions implements Options {
     }
   }
 
+  private Path getMappingsSnapshotFile() {
+    return optionSet.has(MAPPINGS_SNAPSHOT)
+        ? Paths.get((String) optionSet.valueOf(MAPPINGS_SNAPSHOT))
+        : null;
+  }
+
   private String getFilenameTemplateOption() {
     if (optionSet.has(FILENAME_TEMPLATE)) {
       String filenameTemplate = (String) optionSet.valueOf(FILENAME_TEMPLATE);
@@ -492,7 +549,9 @@ public class CommandLineOptions implements Options {
 
   @Override
   public ThreadPoolFactory threadPoolFactory() {
-    return new QueuedThreadPoolFactory();
+    return optionSet.has(VIRTUAL_THREADS)
+        ? new VirtualThreadPoolFactory()
+        : new QueuedThreadPoolFactory();
   }
 
   private boolean specifiesPortNumber() {
@@ -885,6 +944,16 @@ public class CommandLineOptions implements Options {
         : DataTruncationSettings.DEFAULTS;
   }
 
+  @Override
+  public NotMatchedDiffSettings getNotMatchedDiffSettings() {
+    return new NotMatchedDiffSettings(
+        optionSet.has(ASYNC_NOT_MATCHED_DIFFS),
+        optionSet.has(MAX_NOT_MATCHED_DIFFS_PER_SECOND)
+            ? new Limit(
+                Integer.parseInt((String) optionSet.valueOf(MAX_NOT_MATCHED_DIFFS_PER_SECOND)))
+            : Limit.UNLIMITED);
+  }
+
   @Override
   public NetworkAddressRules getProxyTargetRules() {
     NetworkAddressRules.Builder builder = NetworkAddressRules.builder();
@@ -926,6 +995,35 @@ public class CommandLineOptions implements Options {
         : DEFAULT_TIMEOUT;
   }
 
+  @Override
+  public ProxyStreamingSettings getProxyStreamingSettings() {
+    return new ProxyStreamingSettings(
+        optionSet.has(STREAM_PROXY_RESPONSES),
+        optionSet.has(MAX_CAPTURED_PROXY_RESPONSE_BODY_SIZE)
+            ? Integer.parseInt((String) optionSet.valueOf(MAX_CAPTURED_PROXY_RESPONSE_BODY_SIZE))
+            : ProxyStreamingSettings.DEFAULT_MAX_CAPTURED_BODY_SIZE);
+  }
+
+  @Override
+  public TargetAddressCache getProxyTargetAddressCache() {
+    return proxyTargetAddressCache;
+  }
+
+  private TargetAddressCache buildProxyTargetAddressCache() {
+    if (!optionSet.has(PROXY_TARGET_DNS_CACHE_TTL)
+        && !optionSet.has(PROXY_TARGET_DNS_NEGATIVE_CACHE_TTL)) {
+      return TargetAddressCache.DEFAULT;
+    }
+
+    return new TargetAddressCache(
+        optionSet.has(PROXY_TARGET_DNS_CACHE_TTL)
+            ? Long.parseLong((String) optionSet.valueOf(PROXY_TARGET_DNS_CACHE_TTL))
+            : TargetAddressCache.DEFAULT_TTL_MILLIS,
+        optionSet.has(PROXY_TARGET_DNS_NEGATIVE_CACHE_TTL)
+            ? Long.parseLong((String) optionSet.valueOf(PROXY_TARGET_DNS_NEGATIVE_CACHE_TTL))
+            : TargetAddressCache.DEFAULT_NEGATIVE_TTL_MILLIS);
+  }
+
   @Override
   public boolean getResponseTemplatingEnabled() {
     return optionSet.has(GLOBAL_RESPONSE_TEMPLATING) || optionSet.has(LOCAL_RESPONSE_TEMPLATING);
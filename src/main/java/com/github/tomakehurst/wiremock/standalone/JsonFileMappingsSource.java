@@ -17,28 +17,61 @@ package com.github.tomakehurst.wiremock.standalone;
 
 import static com.github.tomakehurst.wiremock.common.AbstractFileSource.byFileExtension;
 import static com.github.tomakehurst.wiremock.common.Json.writePrivate;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.joining;
 
 import com.github.tomakehurst.wiremock.common.*;
 import com.github.tomakehurst.wiremock.common.filemaker.FilenameMaker;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.stubbing.StubMappingCollection;
 import com.github.tomakehurst.wiremock.stubbing.StubMappings;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class JsonFileMappingsSource implements MappingsSource {
 
+  static final int SLOWEST_FILES_REPORTED = 5;
+
   private final FileSource mappingsFileSource;
   private final Map<UUID, StubMappingFileMetadata> fileNameMap;
   private final FilenameMaker filenameMaker;
+  private final Notifier notifier;
+  private final MappingsSnapshot snapshot;
 
   public JsonFileMappingsSource(FileSource mappingsFileSource, FilenameMaker filenameMaker) {
+    this(mappingsFileSource, filenameMaker, null);
+  }
+
+  /**
+   * @param notifier receives a report of how long loading took, or null to use the notifier local
+   *     to the loading thread
+   */
+  public JsonFileMappingsSource(
+      FileSource mappingsFileSource, FilenameMaker filenameMaker, Notifier notifier) {
+    this(mappingsFileSource, filenameMaker, notifier, null);
+  }
+
+  /**
+   * @param snapshotFile where to keep a binary snapshot of the loaded mappings, which is loaded in
+   *     place of the mapping files for as long as they're unchanged, or null for no snapshot
+   */
+  public JsonFileMappingsSource(
+      FileSource mappingsFileSource,
+      FilenameMaker filenameMaker,
+      Notifier notifier,
+      Path snapshotFile) {
     this.mappingsFileSource = mappingsFileSource;
     this.filenameMaker = Objects.requireNonNullElseGet(filenameMaker, FilenameMaker::new);
+    this.notifier = notifier;
+    this.snapshot = snapshotFile != null ? new MappingsSnapshot(snapshotFile) : null;
     fileNameMap = new HashMap<>();
   }
 
@@ -104,23 +137,157 @@ public class JsonFileMappingsSource implements MappingsSource {
       return;
     }
 
+    final long start = System.nanoTime();
     List<TextFile> mappingFiles =
         mappingsFileSource.listFilesRecursively().stream()
             .filter(byFileExtension("json"))
             .collect(Collectors.toList());
-    for (TextFile mappingFile : mappingFiles) {
+
+    // Snapshots only track mapping files on the local file system, not those packaged in a JAR
+    final MappingsSnapshot.Fingerprint fingerprint =
+        snapshot != null && "file".equals(mappingsFileSource.getUri().getScheme())
+            ? MappingsSnapshot.Fingerprint.of(mappingFiles)
+            : null;
+    if (fingerprint != null && loadSnapshotInto(stubMappings, fingerprint, start)) {
+      return;
+    }
+
+    // Files are read and parsed across the fork/join pool, but the results stay in file order so
+    // that stubs are always inserted in the same order, and the same bad file is reported
+    List<ParsedFile> parsedFiles =
+        mappingFiles.parallelStream().map(ParsedFile::parse).collect(Collectors.toList());
+
+    List<MappingsSnapshot.Entry> entries = new ArrayList<>();
+    for (ParsedFile parsedFile : parsedFiles) {
+      if (parsedFile.error != null) {
+        throw new MappingFileException(
+            parsedFile.path, parsedFile.error.getErrors().first().getDetail());
+      }
+
+      entries.add(
+          new MappingsSnapshot.Entry(
+              parsedFile.path,
+              parsedFile.stubCollection.isMulti(),
+              parsedFile.stubCollection.getMappingOrMappings()));
+    }
+
+    if (fingerprint != null) {
+      writeSnapshot(fingerprint, entries);
+    }
+
+    int stubCount = addEntries(stubMappings, entries);
+    reportLoadTime(parsedFiles, stubCount, System.nanoTime() - start);
+  }
+
+  private boolean loadSnapshotInto(
+      StubMappings stubMappings, MappingsSnapshot.Fingerprint fingerprint, long start) {
+    final List<MappingsSnapshot.Entry> entries;
+    try {
+      entries = snapshot.read(fingerprint);
+    } catch (IOException e) {
+      notifier()
+          .error(
+              "Could not read mappings snapshot " + snapshot.getPath() + ", loading files instead",
+              e);
+      return false;
+    }
+
+    if (entries == null) {
+      return false;
+    }
+
+    int stubCount = addEntries(stubMappings, entries);
+    notifier()
+        .info(
+            String.format(
+                "Loaded %d stub mappings from snapshot %s in %dms",
+                stubCount, snapshot.getPath(), toMillis(System.nanoTime() - start)));
+    return true;
+  }
+
+  private void writeSnapshot(
+      MappingsSnapshot.Fingerprint fingerprint, List<MappingsSnapshot.Entry> entries) {
+    try {
+      snapshot.write(fingerprint, entries);
+    } catch (IOException e) {
+      notifier().error("Could not write mappings snapshot " + snapshot.getPath(), e);
+    }
+  }
+
+  private int addEntries(StubMappings stubMappings, List<MappingsSnapshot.Entry> entries) {
+    List<StubMapping> mappings = new ArrayList<>();
+    for (MappingsSnapshot.Entry entry : entries) {
+      StubMappingFileMetadata fileMetadata =
+          new StubMappingFileMetadata(entry.getPath(), entry.isMulti());
+      for (StubMapping mapping : entry.getMappings()) {
+        mapping.setDirty(false);
+        mappings.add(mapping);
+        fileNameMap.put(mapping.getId(), fileMetadata);
+      }
+    }
+
+    stubMappings.addMappings(mappings);
+    return mappings.size();
+  }
+
+  private Notifier notifier() {
+    return Objects.requireNonNullElseGet(notifier, LocalNotifier::notifier);
+  }
+
+  private void reportLoadTime(List<ParsedFile> parsedFiles, int stubCount, long elapsedNanos) {
+    if (parsedFiles.isEmpty()) {
+      return;
+    }
+
+    final String slowestFiles =
+        TopKSelector.selectLowest(
+                parsedFiles,
+                Function.identity(),
+                parsedFile -> -parsedFile.parseNanos,
+                SLOWEST_FILES_REPORTED)
+            .stream()
+            .map(parsedFile -> parsedFile.path + " (" + toMillis(parsedFile.parseNanos) + "ms)")
+            .collect(joining(", "));
+    final double filesPerSecond = parsedFiles.size() / Math.max(elapsedNanos / 1e9, 1e-3);
+
+    notifier()
+        .info(
+            String.format(
+                "Loaded %d stub mappings from %d files in %dms (%.0f files/s). Slowest files: %s",
+                stubCount,
+                parsedFiles.size(),
+                toMillis(elapsedNanos),
+                filesPerSecond,
+                slowestFiles));
+  }
+
+  private static long toMillis(long nanos) {
+    return NANOSECONDS.toMillis(nanos);
+  }
+
+  private static class ParsedFile {
+    final String path;
+    final StubMappingCollection stubCollection;
+    final JsonException error;
+    final long parseNanos;
+
+    ParsedFile(
+        String path, StubMappingCollection stubCollection, JsonException error, long parseNanos) {
+      this.path = path;
+      this.stubCollection = stubCollection;
+      this.error = error;
+      this.parseNanos = parseNanos;
+    }
+
+    static ParsedFile parse(TextFile mappingFile) {
+      final long start = System.nanoTime();
       try {
         StubMappingCollection stubCollection =
             Json.read(mappingFile.readContentsAsString(), StubMappingCollection.class);
-        for (StubMapping mapping : stubCollection.getMappingOrMappings()) {
-          mapping.setDirty(false);
-          stubMappings.addMapping(mapping);
-          StubMappingFileMetadata fileMetadata =
-              new StubMappingFileMetadata(mappingFile.getPath(), stubCollection.isMulti());
-          fileNameMap.put(mapping.getId(), fileMetadata);
-        }
+        return new ParsedFile(
+            mappingFile.getPath(), stubCollection, null, System.nanoTime() - start);
       } catch (JsonException e) {
-        throw new MappingFileException(mappingFile.getPath(), e.getErrors().first().getDetail());
+        return new ParsedFile(mappingFile.getPath(), null, e, System.nanoTime() - start);
       }
     }
   }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.standalone;
+
+import static com.github.tomakehurst.wiremock.common.Exceptions.uncheck;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.TextFile;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A single file holding every stub mapping loaded from a mappings directory, Smile encoded (the
+ * binary form of JSON), so that a restart reads one file rather than reading and parsing each
+ * mapping file in turn. The snapshot records a digest of the path, size and modification time of
+ * each mapping file it was built from, and is ignored once any of these change or a file is added,
+ * removed or renamed.
+ */
+class MappingsSnapshot {
+
+  private static final int MAGIC = 0x574d5353; // "WMSS"
+  private static final int FORMAT_VERSION = 2;
+  private static final int DIGEST_LENGTH = 32;
+  private static final int HEADER_LENGTH = 4 + 4 + DIGEST_LENGTH;
+
+  private static final TypeReference<List<Entry>> ENTRIES = new TypeReference<>() {};
+
+  private final Path path;
+  private final ObjectMapper smileMapper;
+
+  MappingsSnapshot(Path path) {
+    this.path = path;
+    this.smileMapper = Json.getObjectMapper().copyWith(new SmileFactory());
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  /**
+   * @return the snapshot's entries, or null if there is no snapshot or it wasn't built from files
+   *     matching the given fingerprint
+   * @throws IOException if the snapshot exists and matches but can't be read
+   */
+  List<Entry> read(Fingerprint current) throws IOException {
+    if (current == null || !Files.isRegularFile(path)) {
+      return null;
+    }
+
+    // Read as a stream rather than memory mapped, as a mapped file can't be replaced on Windows
+    // until the mapping is garbage collected
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      final ByteBuffer header = ByteBuffer.wrap(in.readNBytes(HEADER_LENGTH));
+      if (header.remaining() < HEADER_LENGTH
+          || header.getInt() != MAGIC
+          || header.getInt() != FORMAT_VERSION) {
+        return null;
+      }
+
+      final byte[] digest = new byte[DIGEST_LENGTH];
+      header.get(digest);
+      if (!new Fingerprint(digest).equals(current)) {
+        return null;
+      }
+
+      return smileMapper.readerFor(ENTRIES).readValue(in);
+    }
+  }
+
+  /**
+   * Replaces the snapshot with the given entries. The new snapshot is written alongside and then
+   * moved into place, so a concurrent reader or a failed write never leaves a partial snapshot.
+   */
+  void write(Fingerprint fingerprint, List<Entry> entries) throws IOException {
+    final Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    final Path tempFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.write(fingerprint.digest);
+        smileMapper.writerWithView(Json.PrivateView.class).writeValue(out, entries);
+      }
+      Files.move(tempFile, path, REPLACE_EXISTING, ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  static class Entry {
+
+    private final String path;
+    private final boolean multi;
+    private final List<? extends StubMapping> mappings;
+
+    @JsonCreator
+    Entry(
+        @JsonProperty("path") String path,
+        @JsonProperty("multi") boolean multi,
+        @JsonProperty("mappings") List<? extends StubMapping> mappings) {
+      this.path = path;
+      this.multi = multi;
+      this.mappings = mappings;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+    public boolean isMulti() {
+      return multi;
+    }
+
+    public List<? extends StubMapping> getMappings() {
+      return mappings;
+    }
+  }
+
+  static class Fingerprint {
+
+    private final byte[] digest;
+
+    Fingerprint(byte[] digest) {
+      this.digest = digest;
+    }
+
+    /** @return the fingerprint of the given mapping files, or null if any of them can't be read */
+    static Fingerprint of(List<TextFile> mappingFiles) {
+      final MessageDigest digest =
+          uncheck(() -> MessageDigest.getInstance("SHA-256"), MessageDigest.class);
+      final ByteBuffer attributesBuffer = ByteBuffer.allocate(Long.BYTES * 2);
+      for (TextFile mappingFile : mappingFiles) {
+        final BasicFileAttributes attributes;
+        try {
+          attributes =
+              Files.readAttributes(Paths.get(mappingFile.getPath()), BasicFileAttributes.class);
+        } catch (IOException e) {
+          return null;
+        }
+
+        // The path is length prefixed so that no two sets of files can produce the same input
+        final byte[] path = mappingFile.getPath().getBytes(UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(path.length).array());
+        digest.update(path);
+        attributesBuffer.clear();
+        attributesBuffer.putLong(attributes.size());
+        attributesBuffer.putLong(attributes.lastModifiedTime().toMillis());
+        digest.update(attributesBuffer.array());
+      }
+
+      return new Fingerprint(digest.digest());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Fingerprint that = (Fingerprint) o;
+      return Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(digest);
+    }
+  }
+}
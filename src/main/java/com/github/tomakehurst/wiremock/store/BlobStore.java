@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,4 +24,12 @@ public interface BlobStore extends Store<String, byte[]> {
   Optional<InputStream> getStream(String key);
 
   InputStreamSource getStreamSource(String key);
+
+  /**
+   * The time the blob was last modified in milliseconds since the epoch, or 0 if the store doesn't
+   * track this.
+   */
+  default long getLastModified(String key) {
+    return 0L;
+  }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.store;
+
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A lock-free request journal store holding at most a fixed number of events in a ring buffer.
+ * Adding an event to a full store overwrites the oldest one, so callers never need to trim it.
+ * Lookup, update and removal by ID and the size are all constant time, and events are indexed by
+ * request method, URL path and served stub.
+ */
+public class BoundedInMemoryRequestJournalStore implements RequestJournalStore {
+
+  private final int capacity;
+  private final AtomicReferenceArray<Slot> slots;
+  private final AtomicLong nextSequence = new AtomicLong();
+  private final AtomicInteger size = new AtomicInteger();
+  private final Map<UUID, Long> sequencesById = new ConcurrentHashMap<>();
+  private final ServeEventIndex index = new ServeEventIndex();
+
+  public BoundedInMemoryRequestJournalStore(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity of journal must be greater than zero");
+    }
+
+    this.capacity = capacity;
+    this.slots = new AtomicReferenceArray<>(capacity);
+  }
+
+  @Override
+  public void add(ServeEvent event) {
+    final long sequence = nextSequence.getAndIncrement();
+    final Slot slot = new Slot(sequence, event);
+    final int position = positionOf(sequence);
+    sequencesById.put(event.getId(), sequence);
+    index.add(sequence, event);
+
+    while (true) {
+      final Slot current = slots.get(position);
+      if (current != null && current.sequence > sequence) {
+        // A later event has already wrapped around into this slot, so this one is already evicted
+        unindex(slot);
+        return;
+      }
+
+      if (slots.compareAndSet(position, current, slot)) {
+        if (current == null) {
+          size.incrementAndGet();
+        } else {
+          unindex(current);
+        }
+        return;
+      }
+    }
+  }
+
+  @Override
+  public Stream<ServeEvent> getAll() {
+    final long newest = nextSequence.get() - 1;
+    final long count = Math.min(newest + 1, capacity);
+    return LongStream.range(0, count)
+        .mapToObj(offset -> slotAt(newest - offset))
+        .filter(Objects::nonNull)
+        .map(slot -> slot.event);
+  }
+
+  @Override
+  public void removeLast() {
+    final long newest = nextSequence.get() - 1;
+    final long oldest = Math.max(0, newest - capacity + 1);
+    for (long sequence = oldest; sequence <= newest; sequence++) {
+      final Slot slot = slotAt(sequence);
+      if (slot != null && removeSlot(slot)) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public Stream<ServeEvent> getAllForMethodAndUrlPath(RequestMethod method, String urlPath) {
+    if (method == null && urlPath == null) {
+      return getAll();
+    }
+
+    return resolve(index.findByMethodAndUrlPath(method, urlPath));
+  }
+
+  @Override
+  public Stream<ServeEvent> getAllForStubMapping(UUID stubMappingId) {
+    return resolve(index.findByStubMapping(stubMappingId));
+  }
+
+  @Override
+  public long size() {
+    return size.get();
+  }
+
+  @Override
+  public Stream<UUID> getAllKeys() {
+    return getAll().map(ServeEvent::getId);
+  }
+
+  @Override
+  public Optional<ServeEvent> get(UUID id) {
+    return Optional.ofNullable(slotFor(id)).map(slot -> slot.event);
+  }
+
+  @Override
+  public void put(UUID id, ServeEvent event) {
+    Slot current = slotFor(id);
+    while (current != null) {
+      final int position = positionOf(current.sequence);
+      if (slots.compareAndSet(position, current, new Slot(current.sequence, event))) {
+        return;
+      }
+      current = slotFor(id);
+    }
+  }
+
+  @Override
+  public void remove(UUID id) {
+    Slot slot = slotFor(id);
+    while (slot != null && !removeSlot(slot)) {
+      slot = slotFor(id);
+    }
+  }
+
+  @Override
+  public void clear() {
+    for (int i = 0; i < capacity; i++) {
+      Slot slot = slots.get(i);
+      while (slot != null && !removeSlot(slot)) {
+        slot = slots.get(i);
+      }
+    }
+  }
+
+  private boolean removeSlot(Slot slot) {
+    if (slots.compareAndSet(positionOf(slot.sequence), slot, null)) {
+      unindex(slot);
+      size.decrementAndGet();
+      return true;
+    }
+
+    return false;
+  }
+
+  private void unindex(Slot slot) {
+    sequencesById.remove(slot.event.getId(), slot.sequence);
+    index.remove(slot.sequence, slot.event);
+  }
+
+  private Stream<ServeEvent> resolve(Stream<UUID> ids) {
+    return ids.map(this::slotFor).filter(Objects::nonNull).map(slot -> slot.event);
+  }
+
+  private Slot slotFor(UUID id) {
+    final Long sequence = sequencesById.get(id);
+    return sequence != null ? slotAt(sequence) : null;
+  }
+
+  private Slot slotAt(long sequence) {
+    final Slot slot = slots.get(positionOf(sequence));
+    return slot != null && slot.sequence == sequence ? slot : null;
+  }
+
+  private int positionOf(long sequence) {
+    return (int) (sequence % capacity);
+  }
+
+  private static class Slot {
+    final long sequence;
+    final ServeEvent event;
+
+    Slot(long sequence, ServeEvent event) {
+      this.sequence = sequence;
+      this.event = event;
+    }
+  }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,10 +29,17 @@ public class DefaultStores implements Stores {
   private final ScenariosStore scenariosStore;
 
   public DefaultStores(FileSource fileRoot) {
+    this(fileRoot, null);
+  }
+
+  public DefaultStores(FileSource fileRoot, Integer maxRequestJournalEntries) {
     this.fileRoot = fileRoot;
 
     this.stubMappingStore = new InMemoryStubMappingStore();
-    this.requestJournalStore = new InMemoryRequestJournalStore();
+    this.requestJournalStore =
+        maxRequestJournalEntries != null && maxRequestJournalEntries > 0
+            ? new BoundedInMemoryRequestJournalStore(maxRequestJournalEntries)
+            : new InMemoryRequestJournalStore();
     this.settingsStore = new InMemorySettingsStore();
     this.scenariosStore = new InMemoryScenariosStore();
   }
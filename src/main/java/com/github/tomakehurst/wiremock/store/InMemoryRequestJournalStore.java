@@ -15,20 +15,28 @@
  */
 package com.github.tomakehurst.wiremock.store;
 
+import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 public class InMemoryRequestJournalStore implements RequestJournalStore {
 
   private final Deque<UUID> deque = new ConcurrentLinkedDeque<>();
   private final Map<UUID, ServeEvent> serveEvents = new ConcurrentHashMap<>();
+  private final Map<UUID, Long> sequences = new ConcurrentHashMap<>();
+  private final AtomicLong nextSequence = new AtomicLong();
+  private final ServeEventIndex index = new ServeEventIndex();
 
   @Override
   public void add(ServeEvent event) {
+    final long sequence = nextSequence.getAndIncrement();
     serveEvents.put(event.getId(), event);
+    sequences.put(event.getId(), sequence);
+    index.add(sequence, event);
     deque.addFirst(event.getId());
   }
 
@@ -37,14 +45,33 @@ public class InMemoryRequestJournalStore implements RequestJournalStore {
     return deque.stream().map(serveEvents::get);
   }
 
+  @Override
+  public Stream<ServeEvent> getAllForMethodAndUrlPath(RequestMethod method, String urlPath) {
+    if (method == null && urlPath == null) {
+      return getAll();
+    }
+
+    return resolve(index.findByMethodAndUrlPath(method, urlPath));
+  }
+
+  @Override
+  public Stream<ServeEvent> getAllForStubMapping(UUID stubMappingId) {
+    return resolve(index.findByStubMapping(stubMappingId));
+  }
+
   @Override
   public void removeLast() {
     final UUID id = deque.pollLast();
     if (id != null) {
-      serveEvents.remove(id);
+      unindex(id);
     }
   }
 
+  @Override
+  public long size() {
+    return serveEvents.size();
+  }
+
   @Override
   public Stream<UUID> getAllKeys() {
     return getAll().map(ServeEvent::getId);
@@ -65,12 +92,26 @@ public class InMemoryRequestJournalStore implements RequestJournalStore {
   @Override
   public void remove(UUID id) {
     deque.stream().filter(eventId -> eventId.equals(id)).forEach(deque::remove);
-    serveEvents.remove(id);
+    unindex(id);
   }
 
   @Override
   public void clear() {
     deque.clear();
     serveEvents.clear();
+    sequences.clear();
+    index.clear();
+  }
+
+  private void unindex(UUID id) {
+    final ServeEvent event = serveEvents.remove(id);
+    final Long sequence = sequences.remove(id);
+    if (event != null && sequence != null) {
+      index.remove(sequence, event);
+    }
+  }
+
+  private Stream<ServeEvent> resolve(Stream<UUID> ids) {
+    return ids.map(serveEvents::get).filter(Objects::nonNull);
   }
 }
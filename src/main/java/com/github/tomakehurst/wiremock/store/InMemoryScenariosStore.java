@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,6 +44,21 @@ public class InMemoryScenariosStore implements ScenariosStore {
     scenarioMap.put(key, content);
   }
 
+  @Override
+  public boolean compareAndSet(String key, Scenario expected, Scenario replacement) {
+    return scenarioMap.replace(key, expected, replacement);
+  }
+
+  @Override
+  public boolean putIfAbsent(String key, Scenario scenario) {
+    return scenarioMap.putIfAbsent(key, scenario) == null;
+  }
+
+  @Override
+  public boolean compareAndRemove(String key, Scenario expected) {
+    return scenarioMap.remove(key, expected);
+  }
+
   @Override
   public void remove(String key) {
     scenarioMap.remove(key);
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,29 +15,38 @@
  */
 package com.github.tomakehurst.wiremock.store;
 
+import com.github.tomakehurst.wiremock.common.Pair;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.stubbing.SortedConcurrentMappingSet;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.stubbing.SubEvent;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class InMemoryStubMappingStore implements StubMappingStore {
 
   private final SortedConcurrentMappingSet mappings = new SortedConcurrentMappingSet();
+  private final StubMappingIndex index = new StubMappingIndex();
 
   @Override
   public Optional<StubMapping> get(UUID id) {
-    return mappings.stream().filter(stubMapping -> stubMapping.getId().equals(id)).findFirst();
+    return mappings.get(id);
   }
 
   @Override
   public void remove(StubMapping stubMapping) {
-    mappings.remove(stubMapping);
+    mappings.removeAndGet(stubMapping).forEach(index::remove);
   }
 
   @Override
   public void clear() {
     mappings.clear();
+    index.clear();
   }
 
   @Override
@@ -45,13 +54,42 @@ public class InMemoryStubMappingStore implements StubMappingStore {
     return mappings.stream();
   }
 
+  @Override
+  public Stream<StubMapping> findAllMatchingRequest(
+      Request request,
+      Map<String, RequestMatcherExtension> customMatchers,
+      Consumer<SubEvent> subEventConsumer) {
+    final Stream<StubMapping> candidates =
+        request.getUrl() != null && request.getMethod() != null
+            ? index.findCandidates(request)
+            : mappings.stream();
+
+    return candidates
+        .map(
+            stubMapping ->
+                Pair.pair(stubMapping, stubMapping.getRequest().match(request, customMatchers)))
+        .peek(stubAndMatchResult -> stubAndMatchResult.b.getSubEvents().forEach(subEventConsumer))
+        .filter(stubAndMatchResult -> stubAndMatchResult.b.isExactMatch())
+        .map(stubAndMatchResult -> stubAndMatchResult.a);
+  }
+
   @Override
   public void add(StubMapping stubMapping) {
     mappings.add(stubMapping);
+    index.add(stubMapping);
+  }
+
+  @Override
+  public void addAll(List<StubMapping> stubMappings) {
+    mappings.addAll(stubMappings);
+    stubMappings.forEach(index::add);
   }
 
   @Override
   public void replace(StubMapping existing, StubMapping updated) {
-    mappings.replace(existing, updated);
+    if (mappings.replace(existing, updated)) {
+      index.remove(existing);
+      index.add(updated);
+    }
   }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,9 @@
  */
 package com.github.tomakehurst.wiremock.store;
 
+import com.github.tomakehurst.wiremock.admin.model.ServeEventQuery;
+import com.github.tomakehurst.wiremock.common.Urls;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -26,4 +29,49 @@ public interface RequestJournalStore extends Store<UUID, ServeEvent> {
   void add(ServeEvent event);
 
   void removeLast();
+
+  /**
+   * Returns, newest first, the events that could have the given request method and URL path,
+   * either of which may be null to leave it unconstrained. Implementations may return a superset,
+   * so callers must still filter the result.
+   */
+  default Stream<ServeEvent> getAllForMethodAndUrlPath(RequestMethod method, String urlPath) {
+    return getAll()
+        .filter(event -> method == null || method.equals(event.getRequest().getMethod()))
+        .filter(
+            event -> urlPath == null || urlPath.equals(Urls.getPath(event.getRequest().getUrl())));
+  }
+
+  /**
+   * Returns, newest first, the events that could have been served by the stub with the given ID.
+   * Implementations may return a superset, so callers must still filter the result.
+   */
+  default Stream<ServeEvent> getAllForStubMapping(UUID stubMappingId) {
+    return getAll()
+        .filter(
+            event ->
+                event.getStubMapping() != null
+                    && stubMappingId.equals(event.getStubMapping().getId()));
+  }
+
+  /**
+   * Returns, newest first, the page of events selected by the given query. The journal is read
+   * lazily, so a page near the start of the journal is found without reading the rest of it.
+   */
+  default Stream<ServeEvent> getAll(ServeEventQuery query) {
+    final Stream<ServeEvent> candidates =
+        query.getStubMappingId() != null
+            ? getAllForStubMapping(query.getStubMappingId())
+            : getAll();
+    return query.page(query.filter(candidates));
+  }
+
+  /** Counts the events selected by the given query's filters, ignoring its paging. */
+  default long count(ServeEventQuery query) {
+    return query.isFiltered() ? getAll(query.withPage(null, null, null)).count() : size();
+  }
+
+  default long size() {
+    return getAllKeys().count();
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,4 +21,50 @@ import java.util.stream.Stream;
 public interface ScenariosStore extends Store<String, Scenario> {
 
   Stream<Scenario> getAll();
+
+  /**
+   * Replaces the scenario with the given name only if it's still the expected one. Implementations
+   * shared between threads must do this atomically, so that concurrent state transitions can't be
+   * lost.
+   *
+   * @return true if the scenario was replaced
+   */
+  default boolean compareAndSet(String name, Scenario expected, Scenario replacement) {
+    if (!get(name).filter(expected::equals).isPresent()) {
+      return false;
+    }
+
+    put(name, replacement);
+    return true;
+  }
+
+  /**
+   * Stores the scenario only if there's no scenario with the given name yet. As with {@link
+   * #compareAndSet}, implementations shared between threads must do this atomically.
+   *
+   * @return true if the scenario was stored
+   */
+  default boolean putIfAbsent(String name, Scenario scenario) {
+    if (get(name).isPresent()) {
+      return false;
+    }
+
+    put(name, scenario);
+    return true;
+  }
+
+  /**
+   * Removes the scenario with the given name only if it's still the expected one. As with {@link
+   * #compareAndSet}, implementations shared between threads must do this atomically.
+   *
+   * @return true if the scenario was removed
+   */
+  default boolean compareAndRemove(String name, Scenario expected) {
+    if (!get(name).filter(expected::equals).isPresent()) {
+      return false;
+    }
+
+    remove(name);
+    return true;
+  }
 }
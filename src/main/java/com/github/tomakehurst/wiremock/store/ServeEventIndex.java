@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.store;
+
+import com.github.tomakehurst.wiremock.common.Urls;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes of journalled serve event IDs by request method, request URL path and served
+ * stub ID. Each bucket is ordered by the sequence number the owning store assigned to the event,
+ * and IDs are returned newest first. Callers are expected to look up the current event for each ID
+ * and skip any that have since been removed.
+ */
+class ServeEventIndex {
+
+  private final Map<RequestMethod, NavigableMap<Long, UUID>> byMethod = new ConcurrentHashMap<>();
+  private final Map<String, NavigableMap<Long, UUID>> byUrlPath = new ConcurrentHashMap<>();
+  private final Map<UUID, NavigableMap<Long, UUID>> byStubMapping = new ConcurrentHashMap<>();
+
+  void add(long sequence, ServeEvent event) {
+    addTo(byMethod, methodOf(event), sequence, event.getId());
+    addTo(byUrlPath, urlPathOf(event), sequence, event.getId());
+
+    final UUID stubMappingId = stubMappingIdOf(event);
+    if (stubMappingId != null) {
+      addTo(byStubMapping, stubMappingId, sequence, event.getId());
+    }
+  }
+
+  void remove(long sequence, ServeEvent event) {
+    removeFrom(byMethod, methodOf(event), sequence);
+    removeFrom(byUrlPath, urlPathOf(event), sequence);
+
+    final UUID stubMappingId = stubMappingIdOf(event);
+    if (stubMappingId != null) {
+      removeFrom(byStubMapping, stubMappingId, sequence);
+    }
+  }
+
+  void clear() {
+    byMethod.clear();
+    byUrlPath.clear();
+    byStubMapping.clear();
+  }
+
+  Stream<UUID> findByMethodAndUrlPath(RequestMethod method, String urlPath) {
+    final NavigableMap<Long, UUID> bucket =
+        urlPath != null ? byUrlPath.get(urlPath) : byMethod.get(method);
+    return newestFirst(bucket);
+  }
+
+  Stream<UUID> findByStubMapping(UUID stubMappingId) {
+    return newestFirst(byStubMapping.get(stubMappingId));
+  }
+
+  private static Stream<UUID> newestFirst(NavigableMap<Long, UUID> bucket) {
+    return bucket != null ? bucket.descendingMap().values().stream() : Stream.empty();
+  }
+
+  // Buckets are only modified inside compute() so that one can't be dropped for being empty
+  // while an entry is being added to it
+  private static <K> void addTo(
+      Map<K, NavigableMap<Long, UUID>> index, K key, long sequence, UUID id) {
+    index.compute(
+        key,
+        (k, bucket) -> {
+          final NavigableMap<Long, UUID> target =
+              bucket != null ? bucket : new ConcurrentSkipListMap<>();
+          target.put(sequence, id);
+          return target;
+        });
+  }
+
+  private static <K> void removeFrom(
+      Map<K, NavigableMap<Long, UUID>> index, K key, long sequence) {
+    index.computeIfPresent(
+        key,
+        (k, bucket) -> {
+          bucket.remove(sequence);
+          return bucket.isEmpty() ? null : bucket;
+        });
+  }
+
+  private static RequestMethod methodOf(ServeEvent event) {
+    return event.getRequest().getMethod();
+  }
+
+  private static String urlPathOf(ServeEvent event) {
+    return Urls.getPath(event.getRequest().getUrl());
+  }
+
+  private static UUID stubMappingIdOf(ServeEvent event) {
+    final StubMapping stubMapping = event.getStubMapping();
+    return stubMapping != null ? stubMapping.getId() : null;
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.store;
+
+import static com.github.tomakehurst.wiremock.stubbing.SortedConcurrentMappingSet.sortedByPriorityThenReverseInsertionOrder;
+
+import com.github.tomakehurst.wiremock.common.Urls;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.EqualToPattern;
+import com.github.tomakehurst.wiremock.matching.RegexPattern;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.matching.UrlPathPattern;
+import com.github.tomakehurst.wiremock.matching.UrlPathTemplatePattern;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Narrows the set of stubs that need to be fully matched against a request, using the request
+ * method plus exact URL, exact URL path or the literal prefix of a URL path regex or template.
+ * Stubs whose URL can't be indexed this way are always returned as candidates. Candidates are
+ * returned in the same priority then reverse insertion order as {@link
+ * com.github.tomakehurst.wiremock.stubbing.SortedConcurrentMappingSet}.
+ */
+class StubMappingIndex {
+
+  private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+  private static final String REGEX_QUANTIFIERS = "?*+{";
+
+  private final Comparator<StubMapping> order = sortedByPriorityThenReverseInsertionOrder();
+
+  private final Map<RequestMethod, Map<String, NavigableSet<StubMapping>>> byUrl =
+      new ConcurrentHashMap<>();
+  private final Map<RequestMethod, Map<String, NavigableSet<StubMapping>>> byUrlPath =
+      new ConcurrentHashMap<>();
+  private final Map<RequestMethod, PrefixNode> byUrlPathPrefix = new ConcurrentHashMap<>();
+  private final NavigableSet<StubMapping> unindexed = new ConcurrentSkipListSet<>(order);
+
+  void add(StubMapping stubMapping) {
+    update(stubMapping, true);
+  }
+
+  void remove(StubMapping stubMapping) {
+    update(stubMapping, false);
+  }
+
+  void clear() {
+    byUrl.clear();
+    byUrlPath.clear();
+    byUrlPathPrefix.clear();
+    unindexed.clear();
+  }
+
+  boolean isEmpty() {
+    return byUrl.isEmpty()
+        && byUrlPath.isEmpty()
+        && byUrlPathPrefix.isEmpty()
+        && unindexed.isEmpty();
+  }
+
+  Stream<StubMapping> findCandidates(Request request) {
+    final String url = request.getUrl();
+    final RequestMethod method = request.getMethod();
+    final String path = Urls.getPath(url);
+    final List<NavigableSet<StubMapping>> buckets = new ArrayList<>();
+    addIfNotEmpty(buckets, unindexed);
+    for (RequestMethod candidateMethod : methodsMatching(method)) {
+      addIfNotEmpty(buckets, lookup(byUrl, candidateMethod, url));
+      addIfNotEmpty(buckets, lookup(byUrlPath, candidateMethod, path));
+
+      PrefixNode node = byUrlPathPrefix.get(candidateMethod);
+      for (int i = 0; node != null; i++) {
+        addIfNotEmpty(buckets, node.stubMappings);
+        node = i < path.length() ? node.children.get(path.charAt(i)) : null;
+      }
+    }
+
+    if (buckets.isEmpty()) {
+      return Stream.empty();
+    }
+
+    if (buckets.size() == 1) {
+      return buckets.get(0).stream();
+    }
+
+    return buckets.stream().flatMap(NavigableSet::stream).sorted(order);
+  }
+
+  private void update(StubMapping stubMapping, boolean add) {
+    final RequestPattern requestPattern = stubMapping.getRequest();
+    final RequestMethod method = requestPattern.getMethod();
+    final UrlPattern urlPattern = requestPattern.getUrlMatcher();
+    final StringValuePattern valuePattern = urlPattern.getPattern();
+
+    if (urlPattern.getClass().equals(UrlPattern.class) && isCaseSensitiveEqualTo(valuePattern)) {
+      update(byUrl, method, valuePattern.getExpected(), stubMapping, add);
+    } else if (urlPattern.getClass().equals(UrlPathPattern.class)
+        && isCaseSensitiveEqualTo(valuePattern)) {
+      update(byUrlPath, method, valuePattern.getExpected(), stubMapping, add);
+    } else if (urlPattern.getClass().equals(UrlPathPattern.class)
+        && valuePattern.getClass().equals(RegexPattern.class)) {
+      updatePrefix(method, literalPrefixOf(valuePattern.getExpected()), stubMapping, add);
+    } else if (urlPattern.getClass().equals(UrlPathTemplatePattern.class)) {
+      updatePrefix(method, urlPattern.getPathTemplate().literalPrefix(), stubMapping, add);
+    } else if (add) {
+      unindexed.add(stubMapping);
+    } else {
+      unindexed.remove(stubMapping);
+    }
+  }
+
+  // Buckets are only modified inside compute() on the per-method map, so that one can't be pruned
+  // for being empty while a stub is being added to it
+  private void update(
+      Map<RequestMethod, Map<String, NavigableSet<StubMapping>>> index,
+      RequestMethod method,
+      String key,
+      StubMapping stubMapping,
+      boolean add) {
+    if (add) {
+      index.compute(
+          method,
+          (m, buckets) -> {
+            final Map<String, NavigableSet<StubMapping>> target =
+                buckets != null ? buckets : new ConcurrentHashMap<>();
+            target.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(order)).add(stubMapping);
+            return target;
+          });
+    } else {
+      index.computeIfPresent(
+          method,
+          (m, buckets) -> {
+            buckets.computeIfPresent(
+                key,
+                (k, bucket) -> {
+                  bucket.remove(stubMapping);
+                  return bucket.isEmpty() ? null : bucket;
+                });
+            return buckets.isEmpty() ? null : buckets;
+          });
+    }
+  }
+
+  private void updatePrefix(
+      RequestMethod method, String prefix, StubMapping stubMapping, boolean add) {
+    if (add) {
+      byUrlPathPrefix.compute(method, (m, root) -> addTo(root, prefix, 0, stubMapping));
+    } else {
+      byUrlPathPrefix.computeIfPresent(
+          method, (m, root) -> removeFrom(root, prefix, 0, stubMapping));
+    }
+  }
+
+  private PrefixNode addTo(PrefixNode node, String prefix, int depth, StubMapping stubMapping) {
+    final PrefixNode target = node != null ? node : new PrefixNode(order);
+    if (depth == prefix.length()) {
+      target.stubMappings.add(stubMapping);
+    } else {
+      target.children.compute(
+          prefix.charAt(depth), (c, child) -> addTo(child, prefix, depth + 1, stubMapping));
+    }
+
+    return target;
+  }
+
+  private static PrefixNode removeFrom(
+      PrefixNode node, String prefix, int depth, StubMapping stubMapping) {
+    if (depth == prefix.length()) {
+      node.stubMappings.remove(stubMapping);
+    } else {
+      node.children.computeIfPresent(
+          prefix.charAt(depth), (c, child) -> removeFrom(child, prefix, depth + 1, stubMapping));
+    }
+
+    return node.isEmpty() ? null : node;
+  }
+
+  private static NavigableSet<StubMapping> lookup(
+      Map<RequestMethod, Map<String, NavigableSet<StubMapping>>> index,
+      RequestMethod method,
+      String key) {
+    final Map<String, NavigableSet<StubMapping>> buckets = index.get(method);
+    return buckets != null ? buckets.get(key) : null;
+  }
+
+  private static void addIfNotEmpty(
+      List<NavigableSet<StubMapping>> buckets, NavigableSet<StubMapping> bucket) {
+    if (bucket != null && !bucket.isEmpty()) {
+      buckets.add(bucket);
+    }
+  }
+
+  private static List<RequestMethod> methodsMatching(RequestMethod method) {
+    return method.equals(RequestMethod.ANY) ? List.of(method) : List.of(method, RequestMethod.ANY);
+  }
+
+  private static boolean isCaseSensitiveEqualTo(StringValuePattern pattern) {
+    return pattern.getClass().equals(EqualToPattern.class)
+        && pattern.getExpected() != null
+        && !Boolean.TRUE.equals(((EqualToPattern) pattern).getCaseInsensitive());
+  }
+
+  /**
+   * Returns the longest literal string every match of the regex must start with. This is
+   * deliberately conservative: an empty prefix is returned for anything containing alternation,
+   * and scanning stops at the first character with special meaning.
+   */
+  static String literalPrefixOf(String regex) {
+    if (regex.indexOf('|') != -1) {
+      return "";
+    }
+
+    final int start = regex.startsWith("^") ? 1 : 0;
+    final StringBuilder prefix = new StringBuilder();
+    for (int i = start; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      if (REGEX_META_CHARACTERS.indexOf(c) != -1) {
+        if (REGEX_QUANTIFIERS.indexOf(c) != -1 && prefix.length() > 0) {
+          prefix.setLength(prefix.length() - 1);
+        }
+        break;
+      }
+
+      prefix.append(c);
+    }
+
+    return prefix.toString();
+  }
+
+  private static class PrefixNode {
+    final Map<Character, PrefixNode> children = new ConcurrentHashMap<>();
+    final NavigableSet<StubMapping> stubMappings;
+
+    PrefixNode(Comparator<StubMapping> order) {
+      stubMappings = new ConcurrentSkipListSet<>(order);
+    }
+
+    boolean isEmpty() {
+      return stubMappings.isEmpty() && children.isEmpty();
+    }
+  }
+}
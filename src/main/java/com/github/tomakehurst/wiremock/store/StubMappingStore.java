@@ -45,6 +45,10 @@ public interface StubMappingStore {
 
   void add(StubMapping stub);
 
+  default void addAll(List<StubMapping> stubs) {
+    stubs.forEach(this::add);
+  }
+
   void replace(StubMapping existing, StubMapping updated);
 
   void remove(StubMapping stubMapping);
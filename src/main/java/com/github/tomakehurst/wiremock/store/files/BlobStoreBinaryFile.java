@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,11 @@ public class BlobStoreBinaryFile extends BinaryFile {
     return blobStore.get(path).orElseThrow(() -> new NotFoundException(path + " not found"));
   }
 
+  @Override
+  public long lastModified() {
+    return blobStore.getLastModified(path);
+  }
+
   @Override
   public String name() {
     return path;
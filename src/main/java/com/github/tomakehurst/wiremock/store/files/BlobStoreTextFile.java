@@ -38,6 +38,11 @@ public class BlobStoreTextFile extends TextFile {
     return blobStore.get(path).orElseThrow(() -> new NotFoundException(path + " not found"));
   }
 
+  @Override
+  public long lastModified() {
+    return blobStore.getLastModified(path);
+  }
+
   @Override
   public String name() {
     return path;
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@ package com.github.tomakehurst.wiremock.store.files;
 
 import com.github.tomakehurst.wiremock.common.*;
 import com.github.tomakehurst.wiremock.store.BlobStore;
+import java.io.File;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -40,7 +42,22 @@ public class FileSourceBlobStore implements BlobStore {
 
   @Override
   public InputStreamSource getStreamSource(String key) {
-    return StreamSources.forBlobStoreItem(this, key);
+    final File localFile = localFileFor(key);
+    return localFile != null
+        ? StreamSources.forFile(localFile)
+        : StreamSources.forBlobStoreItem(this, key);
+  }
+
+  private File localFileFor(String key) {
+    final URI rootUri = fileSource.getUri();
+    return rootUri != null && "file".equals(rootUri.getScheme())
+        ? fileSource.getBinaryFileNamed(key).getLocalFile()
+        : null;
+  }
+
+  @Override
+  public long getLastModified(String key) {
+    return fileSource.getBinaryFileNamed(key).lastModified();
   }
 
   @Override
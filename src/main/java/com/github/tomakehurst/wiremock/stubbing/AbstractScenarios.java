@@ -15,7 +15,6 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
-import static com.github.tomakehurst.wiremock.common.ParameterUtils.getFirstNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.github.tomakehurst.wiremock.admin.NotFoundException;
@@ -26,6 +25,7 @@ import java.util.List;
 public abstract class AbstractScenarios implements Scenarios {
 
   private final ScenariosStore store;
+  private final Object membershipLock = new Object();
 
   public AbstractScenarios(ScenariosStore store) {
     this.store = store;
@@ -44,12 +44,7 @@ public abstract class AbstractScenarios implements Scenarios {
   @Override
   public void onStubMappingAdded(StubMapping mapping) {
     if (mapping.isInScenario()) {
-      String scenarioName = mapping.getScenarioName();
-      Scenario scenario =
-          getFirstNonNull(
-                  store.get(scenarioName).orElse(null), Scenario.inStartedState(scenarioName))
-              .withStubMapping(mapping);
-      store.put(scenarioName, scenario);
+      addToScenario(mapping);
     }
   }
 
@@ -57,57 +52,85 @@ public abstract class AbstractScenarios implements Scenarios {
   public void onStubMappingUpdated(StubMapping oldMapping, StubMapping newMapping) {
     if (oldMapping.isInScenario()
         && !oldMapping.getScenarioName().equals(newMapping.getScenarioName())) {
-      Scenario scenarioForOldMapping =
-          store
-              .get(oldMapping.getScenarioName())
-              .map(scenario -> scenario.withoutStubMapping(oldMapping))
-              .orElseThrow(IllegalStateException::new);
-
-      if (scenarioForOldMapping.getMappings().isEmpty()) {
-        store.remove(scenarioForOldMapping.getId());
-      } else {
-        store.put(oldMapping.getScenarioName(), scenarioForOldMapping);
-      }
+      removeFromScenario(oldMapping);
     }
 
     if (newMapping.isInScenario()) {
-      String scenarioName = newMapping.getScenarioName();
-      Scenario scenario =
-          getFirstNonNull(
-                  store.get(scenarioName).orElse(null), Scenario.inStartedState(scenarioName))
-              .withStubMapping(newMapping);
-      store.put(scenarioName, scenario);
+      addToScenario(newMapping);
     }
   }
 
   @Override
   public void onStubMappingRemoved(StubMapping mapping) {
     if (mapping.isInScenario()) {
-      final String scenarioName = mapping.getScenarioName();
-      Scenario scenario =
-          store
-              .get(scenarioName)
-              .orElseThrow(IllegalStateException::new)
-              .withoutStubMapping(mapping);
-
-      if (scenario.getMappings().isEmpty()) {
-        store.remove(scenarioName);
-      } else {
-        store.put(scenarioName, scenario);
+      removeFromScenario(mapping);
+    }
+  }
+
+  // A scenario's membership is shared by all its versions, so storing it again after a change is
+  // only needed by stores that copy scenarios, and mustn't overwrite a concurrent state transition.
+  // Membership changes are rare and serialised by a lock, so that a stub can't be added to a
+  // scenario between it being found empty and being removed. State transitions don't take the lock.
+  private void addToScenario(StubMapping mapping) {
+    final String scenarioName = mapping.getScenarioName();
+    synchronized (membershipLock) {
+      while (true) {
+        final Scenario scenario = store.get(scenarioName).orElse(null);
+        if (scenario == null) {
+          final Scenario created = Scenario.inStartedState(scenarioName);
+          created.addStubMapping(mapping);
+          if (store.putIfAbsent(scenarioName, created)) {
+            return;
+          }
+        } else {
+          scenario.addStubMapping(mapping);
+          if (store.compareAndSet(scenarioName, scenario, scenario)) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void removeFromScenario(StubMapping mapping) {
+    final String scenarioName = mapping.getScenarioName();
+    synchronized (membershipLock) {
+      while (true) {
+        final Scenario scenario = store.get(scenarioName).orElseThrow(IllegalStateException::new);
+        scenario.removeStubMapping(mapping);
+        final boolean updated =
+            scenario.hasMappings()
+                ? store.compareAndSet(scenarioName, scenario, scenario)
+                : store.compareAndRemove(scenarioName, scenario);
+        if (updated) {
+          return;
+        }
       }
     }
   }
 
   @Override
   public void onStubServed(StubMapping mapping) {
-    if (mapping.isInScenario()) {
-      final String scenarioName = mapping.getScenarioName();
+    tryTransition(mapping);
+  }
+
+  @Override
+  public boolean tryTransition(StubMapping mapping) {
+    if (!mapping.isInScenario() || !mapping.modifiesScenarioState()) {
+      return true;
+    }
+
+    final String scenarioName = mapping.getScenarioName();
+    final String requiredState = mapping.getRequiredScenarioState();
+    while (true) {
       Scenario scenario = store.get(scenarioName).orElseThrow(IllegalStateException::new);
-      if (mapping.modifiesScenarioState()
-          && (mapping.getRequiredScenarioState() == null
-              || scenario.getState().equals(mapping.getRequiredScenarioState()))) {
-        Scenario newScenario = scenario.setState(mapping.getNewScenarioState());
-        store.put(scenarioName, newScenario);
+      if (requiredState != null && !requiredState.equals(scenario.getState())) {
+        return false;
+      }
+
+      Scenario newScenario = scenario.setState(mapping.getNewScenarioState());
+      if (store.compareAndSet(scenarioName, scenario, newScenario)) {
+        return true;
       }
     }
   }
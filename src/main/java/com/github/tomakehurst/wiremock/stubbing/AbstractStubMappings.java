@@ -31,6 +31,7 @@ import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2
 import com.github.tomakehurst.wiremock.extension.StubLifecycleListener;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.matching.ParsedContent;
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
 import com.github.tomakehurst.wiremock.store.BlobStore;
@@ -74,20 +75,26 @@ public abstract class AbstractStubMappings implements StubMappings {
 
     final List<SubEvent> subEvents = new LinkedList<>();
 
-    StubMapping matchingMapping =
-        store
-            .findAllMatchingRequest(request, customMatchers, subEvents::add)
-            .filter(
-                stubMapping ->
-                    stubMapping.isIndependentOfScenarioState()
-                        || scenarios.mappingMatchesScenarioState(stubMapping))
-            .findFirst()
-            .orElse(StubMapping.NOT_CONFIGURED);
+    // A stub that changes scenario state is only served if the scenario is still in the state it
+    // was matched against. Otherwise a concurrent request got there first, so match again.
+    StubMapping matchingMapping;
+    try (ParsedContent.Scope ignored = ParsedContent.openScope(request)) {
+      do {
+        subEvents.clear();
+        matchingMapping =
+            store
+                .findAllMatchingRequest(request, customMatchers, subEvents::add)
+                .filter(
+                    stubMapping ->
+                        stubMapping.isIndependentOfScenarioState()
+                            || scenarios.mappingMatchesScenarioState(stubMapping))
+                .findFirst()
+                .orElse(StubMapping.NOT_CONFIGURED);
+      } while (!scenarios.tryTransition(matchingMapping));
+    }
 
     subEvents.forEach(initialServeEvent::appendSubEvent);
 
-    scenarios.onStubServed(matchingMapping);
-
     ResponseDefinition responseDefinition =
         applyV1Transformations(
             request, matchingMapping.getResponse(), ImmutableList.copyOf(transformers.values()));
@@ -162,6 +169,20 @@ public abstract class AbstractStubMappings implements StubMappings {
     }
   }
 
+  @Override
+  public void addMappings(List<StubMapping> mappings) {
+    for (StubLifecycleListener listener : stubLifecycleListeners) {
+      listener.beforeStubsCreated(mappings);
+    }
+
+    store.addAll(mappings);
+    mappings.forEach(scenarios::onStubMappingAdded);
+
+    for (StubLifecycleListener listener : stubLifecycleListeners) {
+      listener.afterStubsCreated(mappings);
+    }
+  }
+
   @Override
   public void removeMapping(StubMapping mapping) {
     for (StubLifecycleListener listener : stubLifecycleListeners) {
@@ -176,6 +197,22 @@ public abstract class AbstractStubMappings implements StubMappings {
     }
   }
 
+  @Override
+  public void removeMappings(List<StubMapping> mappings) {
+    for (StubLifecycleListener listener : stubLifecycleListeners) {
+      listener.beforeStubsRemoved(mappings);
+    }
+
+    for (StubMapping mapping : mappings) {
+      store.remove(mapping);
+      scenarios.onStubMappingRemoved(mapping);
+    }
+
+    for (StubLifecycleListener listener : stubLifecycleListeners) {
+      listener.afterStubsRemoved(mappings);
+    }
+  }
+
   @Override
   public void editMapping(StubMapping stubMapping) {
     final Optional<StubMapping> optionalExistingMapping = store.get(stubMapping.getId());
@@ -15,8 +15,6 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
-import static java.util.stream.Collectors.toSet;
-
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.tomakehurst.wiremock.common.Errors;
@@ -24,16 +22,23 @@ import com.github.tomakehurst.wiremock.common.InvalidInputException;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.google.common.collect.ImmutableSet;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+/**
+ * A scenario's current state is immutable, but its stub mappings are held in a membership shared by
+ * every version of the scenario, so that adding or removing a stub doesn't copy the others. A
+ * scenario is therefore mutable as far as its stubs are concerned. Equality compares the stubs,
+ * but the hash code only covers the ID and state so that it stays stable as stubs come and go.
+ */
 public class Scenario {
 
   public static final String STARTED = "Started";
 
   private final String id;
   private final String state;
-  private final Set<StubMapping> stubMappings;
+  private final Members members;
 
   @JsonCreator
   public Scenario(
@@ -42,17 +47,20 @@ public class Scenario {
       @JsonProperty("state") String currentState,
       @JsonProperty("possibleStates") Set<String> ignored2,
       @JsonProperty("mappings") Set<StubMapping> stubMappings) {
-    this.id = id;
-    this.state = currentState;
-    this.stubMappings = stubMappings;
+    this(id, currentState, new Members());
+    if (stubMappings != null) {
+      stubMappings.forEach(members::add);
+    }
   }
 
-  private Scenario(String id, String state, Set<StubMapping> stubMappings) {
-    this(id, null, state, null, stubMappings);
+  private Scenario(String id, String state, Members members) {
+    this.id = id;
+    this.state = state;
+    this.members = members;
   }
 
   public static Scenario inStartedState(String name) {
-    return new Scenario(name, STARTED, Collections.emptySet());
+    return new Scenario(name, STARTED, new Members());
   }
 
   public String getId() {
@@ -69,47 +77,38 @@ public class Scenario {
   }
 
   public Set<String> getPossibleStates() {
-    List<String> requiredStates =
-        stubMappings.stream()
-            .map(StubMapping::getRequiredScenarioState)
-            .collect(Collectors.toList());
-
-    requiredStates.addAll(
-        stubMappings.stream().map(StubMapping::getNewScenarioState).collect(Collectors.toList()));
-
-    return requiredStates.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    return Collections.unmodifiableSet(members.stateReferences.keySet());
   }
 
   public Set<StubMapping> getMappings() {
-    return stubMappings;
+    return ImmutableSet.copyOf(members.mappings.values());
+  }
+
+  boolean hasMappings() {
+    return !members.mappings.isEmpty();
   }
 
   Scenario setState(String newState) {
-    if (!getPossibleStates().contains(newState)) {
+    if (!members.stateReferences.containsKey(newState)) {
       throw new InvalidInputException(
           Errors.single(11, "Scenario my-scenario does not support state " + newState));
     }
 
-    return new Scenario(id, newState, stubMappings);
+    return new Scenario(id, newState, members);
   }
 
   Scenario reset() {
-    return new Scenario(id, STARTED, stubMappings);
+    return new Scenario(id, STARTED, members);
   }
 
-  Scenario withStubMapping(StubMapping stubMapping) {
-    Set<StubMapping> newMappings =
-        ImmutableSet.<StubMapping>builder().addAll(stubMappings).add(stubMapping).build();
-
-    return new Scenario(id, state, newMappings);
+  /** Adds the stub, or replaces the one with the same ID, in every version of this scenario. */
+  void addStubMapping(StubMapping stubMapping) {
+    members.add(stubMapping);
   }
 
-  Scenario withoutStubMapping(StubMapping stubMapping) {
-    Set<StubMapping> newMappings =
-        stubMappings.stream()
-            .filter(stub -> !stub.getId().equals(stubMapping.getId()))
-            .collect(toSet());
-    return new Scenario(id, state, newMappings);
+  /** Removes the stub with the same ID from every version of this scenario. */
+  void removeStubMapping(StubMapping stubMapping) {
+    members.remove(stubMapping);
   }
 
   @Override
@@ -124,15 +123,67 @@ public class Scenario {
     Scenario scenario = (Scenario) o;
     return Objects.equals(getId(), scenario.getId())
         && Objects.equals(getState(), scenario.getState())
-        && Objects.equals(getMappings(), scenario.getMappings());
+        && (members == scenario.members || Objects.equals(getMappings(), scenario.getMappings()));
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(getId(), getState(), getMappings());
+    return Objects.hash(getId(), getState());
   }
 
   public static Predicate<Scenario> withName(final String name) {
     return input -> input.getId().equals(name);
   }
+
+  /**
+   * The scenario's stubs keyed by ID, plus a count of the stubs referring to each state so that
+   * the possible states are maintained as stubs come and go rather than recomputed.
+   */
+  private static class Members {
+
+    private final Map<UUID, StubMapping> mappings = new ConcurrentHashMap<>();
+    private final Map<String, Integer> stateReferences = new ConcurrentHashMap<>();
+
+    void add(StubMapping stubMapping) {
+      mappings.compute(
+          stubMapping.getId(),
+          (id, previous) -> {
+            release(previous);
+            retain(stubMapping);
+            return stubMapping;
+          });
+    }
+
+    void remove(StubMapping stubMapping) {
+      mappings.computeIfPresent(
+          stubMapping.getId(),
+          (id, previous) -> {
+            release(previous);
+            return null;
+          });
+    }
+
+    private void retain(StubMapping stubMapping) {
+      forEachState(stubMapping, state -> stateReferences.merge(state, 1, Integer::sum));
+    }
+
+    private void release(StubMapping stubMapping) {
+      if (stubMapping != null) {
+        forEachState(
+            stubMapping,
+            state ->
+                stateReferences.computeIfPresent(
+                    state, (s, count) -> count > 1 ? count - 1 : null));
+      }
+    }
+
+    private static void forEachState(StubMapping stubMapping, Consumer<String> action) {
+      if (stubMapping.getRequiredScenarioState() != null) {
+        action.accept(stubMapping.getRequiredScenarioState());
+      }
+      if (stubMapping.getNewScenarioState() != null) {
+        action.accept(stubMapping.getNewScenarioState());
+      }
+    }
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2022 Thomas Akehurst
+ * Copyright (C) 2022-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,18 @@ public interface Scenarios {
 
   void onStubServed(StubMapping mapping);
 
+  /**
+   * Applies the state transition of a stub that has been matched, provided its scenario is still in
+   * the state the stub requires.
+   *
+   * @return false if another request moved the scenario out of that state after the stub was
+   *     matched, in which case the request should be matched again
+   */
+  default boolean tryTransition(StubMapping mapping) {
+    onStubServed(mapping);
+    return true;
+  }
+
   void reset();
 
   void resetSingle(String name);
@@ -127,9 +127,21 @@ public class ServeEvent {
   }
 
   public ServeEvent complete(Response response, DataTruncationSettings dataTruncationSettings) {
+    processed(response);
+    return withResponse(response, dataTruncationSettings);
+  }
+
+  /** Records the time taken to produce the response, without reading its body. */
+  public void processed(Response response) {
     timing.logProcessTime(stopwatch);
     timing.setAddedTime((int) response.getInitialDelay());
+  }
 
+  /**
+   * Records the response, reading as much of its body as the truncation settings allow. A body that
+   * is streamed through is only available once it has been sent.
+   */
+  public ServeEvent withResponse(Response response, DataTruncationSettings dataTruncationSettings) {
     return new ServeEvent(
         id,
         request,
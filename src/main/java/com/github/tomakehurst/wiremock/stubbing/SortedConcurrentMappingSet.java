@@ -15,10 +15,18 @@
  */
 package com.github.tomakehurst.wiremock.stubbing;
 
-import static com.google.common.collect.Iterables.removeIf;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
@@ -27,13 +35,15 @@ public class SortedConcurrentMappingSet implements Iterable<StubMapping> {
 
   private final AtomicLong insertionCount;
   private final ConcurrentSkipListSet<StubMapping> mappingSet;
+  private final Map<UUID, List<StubMapping>> mappingsById;
 
   public SortedConcurrentMappingSet() {
     insertionCount = new AtomicLong();
     mappingSet = new ConcurrentSkipListSet<>(sortedByPriorityThenReverseInsertionOrder());
+    mappingsById = new ConcurrentHashMap<>();
   }
 
-  private Comparator<StubMapping> sortedByPriorityThenReverseInsertionOrder() {
+  public static Comparator<StubMapping> sortedByPriorityThenReverseInsertionOrder() {
     return (one, two) -> {
       int priorityComparison = one.comparePriorityWith(two);
       if (priorityComparison != 0) {
@@ -53,32 +63,71 @@ public class SortedConcurrentMappingSet implements Iterable<StubMapping> {
     return mappingSet.stream();
   }
 
+  public Optional<StubMapping> get(UUID id) {
+    if (id == null) {
+      return Optional.empty();
+    }
+
+    return mappingsById.getOrDefault(id, emptyList()).stream()
+        .min(sortedByPriorityThenReverseInsertionOrder());
+  }
+
   public void add(StubMapping mapping) {
     mapping.setInsertionIndex(insertionCount.getAndIncrement());
     mappingSet.add(mapping);
+    index(mapping);
+  }
+
+  /**
+   * Adds all the mappings with consecutive insertion indexes in the order given, so that later ones
+   * take precedence over earlier ones of the same priority, exactly as if each had been added in
+   * turn.
+   */
+  public void addAll(List<StubMapping> mappings) {
+    long insertionIndex = insertionCount.getAndAdd(mappings.size());
+    for (StubMapping mapping : mappings) {
+      mapping.setInsertionIndex(insertionIndex++);
+    }
+
+    final List<StubMapping> sorted = new ArrayList<>(mappings);
+    sorted.sort(sortedByPriorityThenReverseInsertionOrder());
+    mappingSet.addAll(sorted);
+
+    mappings.stream()
+        .filter(mapping -> mapping.getUuid() != null)
+        .collect(groupingBy(StubMapping::getUuid))
+        .forEach(this::index);
   }
 
   public boolean remove(final StubMapping mappingToRemove) {
-    boolean removedByUuid =
-        removeIf(
-            mappingSet,
-            mapping ->
-                mappingToRemove.getUuid() != null
-                    && mapping.getUuid() != null
-                    && mappingToRemove.getUuid().equals(mapping.getUuid()));
-
-    boolean removedByRequestPattern =
-        !removedByUuid
-            && removeIf(
-                mappingSet, mapping -> mappingToRemove.getRequest().equals(mapping.getRequest()));
-
-    return removedByUuid || removedByRequestPattern;
+    return !removeAndGet(mappingToRemove).isEmpty();
+  }
+
+  public List<StubMapping> removeAndGet(final StubMapping mappingToRemove) {
+    List<StubMapping> toRemove =
+        new ArrayList<>(
+            mappingToRemove.getUuid() != null
+                ? mappingsById.getOrDefault(mappingToRemove.getUuid(), emptyList())
+                : emptyList());
+
+    if (toRemove.isEmpty()) {
+      toRemove =
+          mappingSet.stream()
+              .filter(mapping -> mappingToRemove.getRequest().equals(mapping.getRequest()))
+              .collect(toList());
+    }
+
+    toRemove.removeIf(mapping -> !mappingSet.remove(mapping));
+    toRemove.forEach(this::unindex);
+    return toRemove;
   }
 
   public boolean replace(StubMapping existingStubMapping, StubMapping newStubMapping) {
 
     if (mappingSet.remove(existingStubMapping)) {
+      unindex(existingStubMapping);
       mappingSet.add(newStubMapping);
+      index(newStubMapping);
       return true;
     }
     return false;
@@ -86,6 +135,45 @@ public class SortedConcurrentMappingSet implements Iterable<StubMapping> {
 
   public void clear() {
     mappingSet.clear();
+    mappingsById.clear();
+  }
+
+  // Several mappings can share an ID, so each ID maps to an immutable list that is only ever
+  // swapped inside compute() to keep concurrent adds and removes from losing entries
+  private void index(StubMapping mapping) {
+    if (mapping.getUuid() == null) {
+      return;
+    }
+
+    index(mapping.getUuid(), List.of(mapping));
+  }
+
+  private void index(UUID id, List<StubMapping> mappings) {
+    mappingsById.compute(
+        id,
+        (key, existing) -> {
+          List<StubMapping> updated = new ArrayList<>(existing != null ? existing : emptyList());
+          updated.addAll(mappings);
+          return List.copyOf(updated);
+        });
+  }
+
+  private void unindex(StubMapping mapping) {
+    if (mapping.getUuid() == null) {
+      return;
+    }
+
+    mappingsById.computeIfPresent(
+        mapping.getUuid(),
+        (id, existing) -> {
+          List<StubMapping> updated =
+              existing.stream()
+                  .filter(
+                      other ->
+                          sortedByPriorityThenReverseInsertionOrder().compare(other, mapping) != 0)
+                  .collect(toList());
+          return updated.isEmpty() ? null : List.copyOf(updated);
+        });
   }
 
   @Override
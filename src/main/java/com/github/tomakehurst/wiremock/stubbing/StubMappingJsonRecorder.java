@@ -27,10 +27,18 @@ import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.http.*;
 import com.github.tomakehurst.wiremock.matching.*;
 import com.github.tomakehurst.wiremock.store.BlobStore;
-import com.github.tomakehurst.wiremock.verification.VerificationResult;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.Collection;
 import java.util.List;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /** @deprecated this is the legacy recorder and will be removed before 3.x is out of beta */
@@ -39,27 +47,88 @@ public class StubMappingJsonRecorder implements RequestListener {
 
   private final BlobStore mappingsBlobStore;
   private final BlobStore filesBlobStore;
-  private final Admin admin;
   private final List<CaseInsensitiveKey> headersToMatch;
   private IdGenerator idGenerator;
 
+  private static final int MAX_SEEN_REQUEST_PATTERNS = 10_000;
+
+  // Shared by all recorders, and its thread exits when idle so that stopped servers don't leak it
+  private static final Executor SHARED_WRITER = createSharedWriter();
+
+  // Patterns of the requests received while recording, so that repeats are recognised without
+  // matching each one against the whole request journal. Forgotten when the journal is reset.
+  private final Cache<RequestPattern, Boolean> seenRequestPatterns =
+      CacheBuilder.newBuilder().maximumSize(MAX_SEEN_REQUEST_PATTERNS).build();
+
+  // Files are written in batches on the writer rather than on the thread serving the request
+  private final Executor writer;
+  private final Queue<Runnable> pendingWrites = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean writeScheduled = new AtomicBoolean();
+
+  public StubMappingJsonRecorder(
+      BlobStore mappingsBlobStore,
+      BlobStore filesBlobStore,
+      List<CaseInsensitiveKey> headersToMatch) {
+    this(mappingsBlobStore, filesBlobStore, headersToMatch, SHARED_WRITER);
+  }
+
+  /**
+   * @deprecated the admin is no longer used to detect repeated requests, use {@link
+   *     #StubMappingJsonRecorder(BlobStore, BlobStore, List)}
+   */
+  @Deprecated
   public StubMappingJsonRecorder(
       BlobStore mappingsBlobStore,
       BlobStore filesBlobStore,
       Admin admin,
       List<CaseInsensitiveKey> headersToMatch) {
+    this(mappingsBlobStore, filesBlobStore, headersToMatch);
+  }
+
+  StubMappingJsonRecorder(
+      BlobStore mappingsBlobStore,
+      BlobStore filesBlobStore,
+      List<CaseInsensitiveKey> headersToMatch,
+      Executor writer) {
     this.mappingsBlobStore = mappingsBlobStore;
     this.filesBlobStore = filesBlobStore;
-    this.admin = admin;
     this.headersToMatch = headersToMatch;
+    this.writer = writer;
     idGenerator = new VeryShortIdGenerator();
   }
 
+  private static Executor createSharedWriter() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            10L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              final Thread thread = new Thread(runnable, "wiremock-mapping-recorder");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   @Override
   public void requestReceived(Request request, Response response) {
+    if (response.isFromProxy() && !response.isBodyCapturedInFull()) {
+      notifier()
+          .error(
+              String.format(
+                  "Not recording mapping for %s as only part of its response body was captured",
+                  request.getUrl()));
+      return;
+    }
+
     RequestPattern requestPattern = buildRequestPatternFrom(request);
 
-    if (requestNotAlreadyReceived(requestPattern) && response.isFromProxy()) {
+    if (seenRequestPatterns.asMap().putIfAbsent(requestPattern, true) == null
+        && response.isFromProxy()) {
       notifier().info(String.format("Recording mappings for %s", request.getUrl()));
       writeToMappingAndBodyFile(request, response, requestPattern);
     } else {
@@ -167,8 +236,50 @@ public class StubMappingJsonRecorder implements RequestListener {
     StubMapping mapping = new StubMapping(requestPattern, responseToWrite);
     mapping.setUuid(UUID.nameUUIDFromBytes(fileId.getBytes()));
 
-    filesBlobStore.put(bodyFileName, body);
-    mappingsBlobStore.put(mappingFileName, Strings.bytesFromString(write(mapping)));
+    enqueueWrite(
+        () -> {
+          filesBlobStore.put(bodyFileName, body);
+          mappingsBlobStore.put(mappingFileName, Strings.bytesFromString(write(mapping)));
+        });
+  }
+
+  private void enqueueWrite(Runnable write) {
+    // The writer thread has no notifier of its own, so failures go to the one for this request
+    final Notifier notifier = notifier();
+    pendingWrites.add(
+        () -> {
+          try {
+            write.run();
+          } catch (RuntimeException e) {
+            notifier.error("Failed to write recorded mapping", e);
+          }
+        });
+    if (writeScheduled.compareAndSet(false, true)) {
+      writer.execute(
+          () -> {
+            writeScheduled.set(false);
+            writePending();
+          });
+    }
+  }
+
+  /** Forgets the requests received so far, so that they're recorded again if repeated. */
+  public void reset() {
+    seenRequestPatterns.invalidateAll();
+  }
+
+  /** Writes any recorded mapping and body files that are still queued, on the calling thread. */
+  public void flush() {
+    writePending();
+  }
+
+  private void writePending() {
+    synchronized (pendingWrites) {
+      Runnable write;
+      while ((write = pendingWrites.poll()) != null) {
+        write.run();
+      }
+    }
   }
 
   private HttpHeaders withoutContentEncodingAndContentLength(HttpHeaders httpHeaders) {
@@ -188,12 +299,6 @@ public class StubMappingJsonRecorder implements RequestListener {
     return response.getBody();
   }
 
-  private boolean requestNotAlreadyReceived(RequestPattern requestPattern) {
-    VerificationResult verificationResult = admin.countRequestsMatching(requestPattern);
-    verificationResult.assertRequestJournalEnabled();
-    return (verificationResult.getCount() < 1);
-  }
-
   public void setIdGenerator(IdGenerator idGenerator) {
     this.idGenerator = idGenerator;
   }
@@ -19,10 +19,16 @@ import static com.github.tomakehurst.wiremock.matching.RequestPattern.thatMatch;
 import static com.github.tomakehurst.wiremock.matching.RequestPattern.withRequestMatching;
 import static java.util.stream.Collectors.toList;
 
+import com.github.tomakehurst.wiremock.admin.model.ServeEventQuery;
 import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.Urls;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.matching.EqualToPattern;
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import com.github.tomakehurst.wiremock.matching.UrlPathPattern;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
 import com.github.tomakehurst.wiremock.store.RequestJournalStore;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
@@ -53,13 +59,18 @@ public abstract class AbstractRequestJournal implements RequestJournal {
 
   @Override
   public int countRequestsMatching(RequestPattern requestPattern) {
-    return (int) getRequests().filter(thatMatch(requestPattern, customMatchers)).count();
+    return (int)
+        getCandidateRequests(requestPattern)
+            .filter(thatMatch(requestPattern, customMatchers))
+            .count();
   }
 
   @Override
   public List<LoggedRequest> getRequestsMatching(RequestPattern requestPattern) {
     List<LoggedRequest> loggedRequests =
-        getRequests().filter(thatMatch(requestPattern, customMatchers)).collect(toList());
+        getCandidateRequests(requestPattern)
+            .filter(thatMatch(requestPattern, customMatchers))
+            .collect(toList());
     Collections.reverse(loggedRequests);
     return loggedRequests;
   }
@@ -111,18 +122,68 @@ public abstract class AbstractRequestJournal implements RequestJournal {
     return store.get(id);
   }
 
+  @Override
+  public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+    return store
+        .getAllForStubMapping(stubMappingId)
+        .filter(
+            event ->
+                event.getStubMapping() != null
+                    && stubMappingId.equals(event.getStubMapping().getId()))
+        .collect(toList());
+  }
+
+  @Override
+  public List<ServeEvent> getServeEvents(ServeEventQuery query) {
+    return store.getAll(query).collect(toList());
+  }
+
+  @Override
+  public long countServeEvents(ServeEventQuery query) {
+    return store.count(query);
+  }
+
   @Override
   public void reset() {
     store.clear();
   }
 
-  private Stream<LoggedRequest> getRequests() {
-    return store.getAll().map(ServeEvent::getRequest);
+  // Narrows the events to check using the store's indexes where the pattern pins down the method
+  // or an exact URL path. Every candidate must still be matched against the full pattern.
+  private Stream<LoggedRequest> getCandidateRequests(RequestPattern requestPattern) {
+    final RequestMethod method =
+        RequestMethod.ANY.equals(requestPattern.getMethod()) ? null : requestPattern.getMethod();
+    final String urlPath = exactUrlPathOf(requestPattern.getUrlMatcher());
+
+    final Stream<ServeEvent> candidates =
+        method == null && urlPath == null
+            ? store.getAll()
+            : store.getAllForMethodAndUrlPath(method, urlPath);
+    return candidates.map(ServeEvent::getRequest);
+  }
+
+  private static String exactUrlPathOf(UrlPattern urlPattern) {
+    if (urlPattern == null) {
+      return null;
+    }
+
+    final StringValuePattern valuePattern = urlPattern.getPattern();
+    if (!valuePattern.getClass().equals(EqualToPattern.class)
+        || valuePattern.getExpected() == null
+        || Boolean.TRUE.equals(((EqualToPattern) valuePattern).getCaseInsensitive())) {
+      return null;
+    }
+
+    if (urlPattern.getClass().equals(UrlPattern.class)) {
+      return Urls.getPath(valuePattern.getExpected());
+    }
+
+    return urlPattern.getClass().equals(UrlPathPattern.class) ? valuePattern.getExpected() : null;
   }
 
   private void removeOldEntries() {
     if (maxEntries != null) {
-      while (store.getAllKeys().count() > maxEntries) {
+      while (store.size() > maxEntries) {
         store.removeLast();
       }
     }
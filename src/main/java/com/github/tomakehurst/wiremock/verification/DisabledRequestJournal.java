@@ -15,6 +15,7 @@
  */
 package com.github.tomakehurst.wiremock.verification;
 
+import com.github.tomakehurst.wiremock.admin.model.ServeEventQuery;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
@@ -44,6 +45,21 @@ public class DisabledRequestJournal implements RequestJournal {
     throw new RequestJournalDisabledException();
   }
 
+  @Override
+  public List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId) {
+    throw new RequestJournalDisabledException();
+  }
+
+  @Override
+  public List<ServeEvent> getServeEvents(ServeEventQuery query) {
+    throw new RequestJournalDisabledException();
+  }
+
+  @Override
+  public long countServeEvents(ServeEventQuery query) {
+    throw new RequestJournalDisabledException();
+  }
+
   @Override
   public void reset() {}
 
@@ -16,6 +16,7 @@
 package com.github.tomakehurst.wiremock.verification;
 
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
+import com.github.tomakehurst.wiremock.store.BoundedInMemoryRequestJournalStore;
 import com.github.tomakehurst.wiremock.store.InMemoryRequestJournalStore;
 import java.util.Map;
 
@@ -23,6 +24,11 @@ public class InMemoryRequestJournal extends StoreBackedRequestJournal {
 
   public InMemoryRequestJournal(
       Integer maxEntries, Map<String, RequestMatcherExtension> customMatchers) {
-    super(maxEntries, customMatchers, new InMemoryRequestJournalStore());
+    super(
+        maxEntries,
+        customMatchers,
+        maxEntries != null && maxEntries > 0
+            ? new BoundedInMemoryRequestJournalStore(maxEntries)
+            : new InMemoryRequestJournalStore());
   }
 }
@@ -15,15 +15,14 @@
  */
 package com.github.tomakehurst.wiremock.verification;
 
-import static java.lang.Math.min;
-
+import com.github.tomakehurst.wiremock.common.TopKSelector;
 import com.github.tomakehurst.wiremock.matching.MatchResult;
 import com.github.tomakehurst.wiremock.matching.MemoizingMatchResult;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.stubbing.*;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 public class NearMissCalculator {
 
@@ -43,19 +42,14 @@ public class NearMissCalculator {
   }
 
   public List<NearMiss> findNearestTo(final LoggedRequest request) {
-    List<StubMapping> allMappings = stubMappings.getAll();
-
-    return sortAndTruncate(
-        allMappings.stream()
-            .map(
-                stubMapping -> {
-                  MatchResult matchResult =
-                      new MemoizingMatchResult(stubMapping.getRequest().match(request));
-                  String actualScenarioState = getScenarioStateOrNull(stubMapping);
-                  return new NearMiss(request, stubMapping, matchResult, actualScenarioState);
-                })
-            .collect(Collectors.toList()),
-        allMappings.size());
+    return selectNearest(
+        stubMappings.getAll(),
+        stubMapping -> {
+          MatchResult matchResult =
+              new MemoizingMatchResult(stubMapping.getRequest().match(request));
+          String actualScenarioState = getScenarioStateOrNull(stubMapping);
+          return new NearMiss(request, stubMapping, matchResult, actualScenarioState);
+        });
   }
 
   private String getScenarioStateOrNull(StubMapping stubMapping) {
@@ -68,21 +62,23 @@ public class NearMissCalculator {
   }
 
   public List<NearMiss> findNearestTo(final RequestPattern requestPattern) {
-    List<ServeEvent> serveEvents = requestJournal.getAllServeEvents();
-    return sortAndTruncate(
-        serveEvents.stream()
-            .map(
-                serveEvent -> {
-                  MatchResult matchResult =
-                      new MemoizingMatchResult(requestPattern.match(serveEvent.getRequest()));
-                  return new NearMiss(serveEvent.getRequest(), requestPattern, matchResult);
-                })
-            .collect(Collectors.toList()),
-        serveEvents.size());
+    return selectNearest(
+        requestJournal.getAllServeEvents(),
+        serveEvent -> {
+          MatchResult matchResult =
+              new MemoizingMatchResult(requestPattern.match(serveEvent.getRequest()));
+          return new NearMiss(serveEvent.getRequest(), requestPattern, matchResult);
+        });
   }
 
-  private static List<NearMiss> sortAndTruncate(List<NearMiss> nearMisses, int originalSize) {
-    nearMisses.sort(NEAR_MISS_ASCENDING_COMPARATOR);
-    return nearMisses.subList(0, min(NEAR_MISS_COUNT, originalSize));
+  // Nothing can be nearer than an exact match, so scanning stops once enough have been found
+  private static <S> List<NearMiss> selectNearest(
+      List<S> sources, Function<S, NearMiss> toNearMiss) {
+    return TopKSelector.selectLowest(
+        sources,
+        toNearMiss,
+        nearMiss -> nearMiss.getMatchResult().getDistance(),
+        NEAR_MISS_COUNT,
+        0.0);
   }
 }
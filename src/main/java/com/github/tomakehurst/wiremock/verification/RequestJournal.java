@@ -15,6 +15,7 @@
  */
 package com.github.tomakehurst.wiremock.verification;
 
+import com.github.tomakehurst.wiremock.admin.model.ServeEventQuery;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.matching.StringValuePattern;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
@@ -32,6 +33,12 @@ public interface RequestJournal {
 
   Optional<ServeEvent> getServeEvent(UUID id);
 
+  List<ServeEvent> getServeEventsForStubMapping(UUID stubMappingId);
+
+  List<ServeEvent> getServeEvents(ServeEventQuery query);
+
+  long countServeEvents(ServeEventQuery query);
+
   void reset();
 
   void requestReceived(ServeEvent serveEvent);
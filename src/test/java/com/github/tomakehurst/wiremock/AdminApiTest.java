@@ -254,6 +254,31 @@ public class AdminApiTest extends AcceptanceTestBase {
     check.field("requests").hasSize(2);
   }
 
+  @Test
+  public void getLoggedRequestsWithLimitAndOffset() throws Exception {
+    for (int i = 1; i <= 7; i++) {
+      testClient.get("/received-request/" + i);
+    }
+
+    String body = testClient.get("/__admin/requests?limit=2&offset=3").content();
+
+    JsonVerifiable check = JsonAssertion.assertThat(body);
+    check.field("meta").field("total").isEqualTo(7);
+    check.field("requests").hasSize(2);
+    check
+        .field("requests")
+        .elementWithIndex(0)
+        .field("request")
+        .field("url")
+        .isEqualTo("/received-request/4");
+    check
+        .field("requests")
+        .elementWithIndex(1)
+        .field("request")
+        .field("url")
+        .isEqualTo("/received-request/3");
+  }
+
   @Test
   public void getLoggedRequestsWithLimitAndSinceDate() throws Exception {
     for (int i = 1; i <= 5; i++) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.http.HttpClientFactory;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class NonBlockingResponseDelayAcceptanceTest {
+
+  private static final int CONCURRENT_REQUESTS = 40;
+  private static final int DELAY_MILLISECONDS = 500;
+  private static final int SOCKET_TIMEOUT_MILLISECONDS = 2000;
+
+  private final ExecutorService httpClientExecutor = Executors.newCachedThreadPool();
+  private final AtomicLong completedAt = new AtomicLong();
+
+  @RegisterExtension
+  public WireMockExtension wm =
+      WireMockExtension.newInstance()
+          .configureStaticDsl(true)
+          .options(
+              WireMockConfiguration.wireMockConfig()
+                  .dynamicPort()
+                  .jettyAcceptors(1)
+                  .containerThreads(8)
+                  .extensions(
+                      new ServeEventListener() {
+                        @Override
+                        public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+                          completedAt.set(System.nanoTime());
+                        }
+
+                        @Override
+                        public String getName() {
+                          return "completion-timer";
+                        }
+                      }))
+          .build();
+
+  @AfterEach
+  public void shutdown() {
+    httpClientExecutor.shutdownNow();
+  }
+
+  @Test
+  public void delaysMoreConcurrentRequestsThanThereAreContainerThreads() throws Exception {
+    stubFor(get("/delayed").willReturn(ok("Done").withFixedDelay(DELAY_MILLISECONDS)));
+
+    for (Future<String> response : httpClientExecutor.invokeAll(requests("/delayed"))) {
+      assertThat(response.get(), is("Done"));
+    }
+  }
+
+  @Test
+  public void dribblesMoreConcurrentResponsesThanThereAreContainerThreads() throws Exception {
+    stubFor(
+        get("/dribbled")
+            .willReturn(ok("Dribbled body").withChunkedDribbleDelay(5, DELAY_MILLISECONDS)));
+
+    for (Future<String> response : httpClientExecutor.invokeAll(requests("/dribbled"))) {
+      assertThat(response.get(), is("Dribbled body"));
+    }
+  }
+
+  @Test
+  public void completesServeEventOnlyOnceTheDelayedResponseHasBeenSent() throws Exception {
+    stubFor(get("/delayed").willReturn(ok("Done").withFixedDelay(DELAY_MILLISECONDS)));
+
+    long requestedAt = System.nanoTime();
+    assertThat(request("/delayed").call(), is("Done"));
+
+    await().atMost(5, SECONDS).until(completedAt::get, is(not(0L)));
+    assertThat(
+        NANOSECONDS.toMillis(completedAt.get() - requestedAt),
+        greaterThanOrEqualTo((long) DELAY_MILLISECONDS));
+  }
+
+  private List<Callable<String>> requests(String path) {
+    List<Callable<String>> requests = new ArrayList<>();
+    for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+      requests.add(request(path));
+    }
+    return requests;
+  }
+
+  private Callable<String> request(String path) {
+    return () -> {
+      try (CloseableHttpClient client =
+          HttpClientFactory.createClient(SOCKET_TIMEOUT_MILLISECONDS)) {
+        return client.execute(
+            new HttpGet(wm.url(path)), response -> EntityUtils.toString(response.getEntity()));
+      }
+    };
+  }
+}
@@ -23,6 +23,8 @@ import static com.github.tomakehurst.wiremock.testsupport.TestHttpHeader.withHea
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.equalsMultiLine;
 import static com.github.tomakehurst.wiremock.verification.notmatched.PlainTextStubNotMatchedRenderer.CONSOLE_WIDTH_HEADER_KEY;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -272,6 +274,34 @@ public class NotMatchedPageAcceptanceTest {
     assertThat(response.content(), containsString("Request was not matched"));
   }
 
+  @Test
+  public void returnsPlainNotFoundAndRecordsDiffInBackgroundWhenDiffsAreAsynchronous() {
+    configure(wireMockConfig().asynchronousNotMatchedDiffs(true));
+    stubFor(get("/thing").willReturn(ok()));
+
+    WireMockResponse response = testClient.get("/thin");
+
+    assertThat(response.statusCode(), is(404));
+    assertThat(response.content(), not(containsString("Request was not matched")));
+    await()
+        .atMost(5, SECONDS)
+        .until(() -> wm.getAllServeEvents().get(0).getDiffSubEvent().isPresent());
+  }
+
+  @Test
+  public void stopsRenderingDiffsOncePerSecondLimitIsReached() {
+    configure(wireMockConfig().maxNotMatchedDiffsPerSecond(1));
+    stubFor(get("/thing").willReturn(ok()));
+
+    WireMockResponse first = testClient.get("/thin");
+    WireMockResponse second = testClient.get("/thin");
+
+    assertThat(first.statusCode(), is(404));
+    assertThat(first.content(), containsString("Request was not matched"));
+    assertThat(second.statusCode(), is(404));
+    assertThat(second.content(), not(containsString("Request was not matched")));
+  }
+
   private void configure() {
     configure(wireMockConfig().dynamicPort());
   }
@@ -20,8 +20,11 @@ import static com.github.tomakehurst.wiremock.common.ContentTypes.CONTENT_ENCODI
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static com.github.tomakehurst.wiremock.testsupport.TestHttpHeader.withHeader;
 import static com.google.common.collect.Iterables.getLast;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.hc.core5.http.ContentType.TEXT_PLAIN;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -32,6 +35,7 @@ import com.github.tomakehurst.wiremock.common.ProxySettings;
 import com.github.tomakehurst.wiremock.core.Options;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.http.HttpClientFactory;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.github.tomakehurst.wiremock.testsupport.WireMockResponse;
 import com.github.tomakehurst.wiremock.testsupport.WireMockTestClient;
 import com.github.tomakehurst.wiremock.verification.LoggedRequest;
@@ -40,9 +44,12 @@ import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import org.apache.hc.client5.http.classic.methods.HttpHead;
 import org.apache.hc.client5.http.entity.GzipCompressingEntity;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
@@ -124,6 +131,95 @@ public class ProxyAcceptanceTest {
     assertThat(response.firstHeader("Content-Type"), is("text/plain"));
   }
 
+  @Test
+  public void streamsResponseFromOtherServiceAndJournalsOnlyTheCapturedPartOfTheBody() {
+    init(wireMockConfig().streamProxyResponses(true).maxCapturedProxyResponseBodySize(10));
+
+    String body = "0123456789".repeat(1000);
+    target.register(get(urlEqualTo("/streamed")).willReturn(ok(body)));
+    proxy.register(
+        any(urlEqualTo("/streamed"))
+            .atPriority(10)
+            .willReturn(aResponse().proxiedFrom(targetServiceBaseUrl)));
+
+    WireMockResponse response = testClient.get("/streamed");
+
+    assertThat(response.content(), is(body));
+    // The serve event is only completed once the body has been sent
+    await().atMost(5, SECONDS).until(() -> proxyingService.getAllServeEvents(), hasSize(1));
+    assertThat(
+        proxyingService.getAllServeEvents().get(0).getResponse().getBodyAsString(),
+        is("0123456789"));
+  }
+
+  @Test
+  public void doesNotSnapshotStreamedResponsesWhoseBodyWasOnlyPartlyCaptured() {
+    init(wireMockConfig().streamProxyResponses(true).maxCapturedProxyResponseBodySize(10));
+
+    target.register(get(urlEqualTo("/long")).willReturn(ok("0123456789".repeat(10))));
+    target.register(get(urlEqualTo("/short")).willReturn(ok("0123")));
+    proxy.register(
+        any(anyUrl()).atPriority(10).willReturn(aResponse().proxiedFrom(targetServiceBaseUrl)));
+
+    testClient.get("/long");
+    testClient.get("/short");
+    await().atMost(5, SECONDS).until(() -> proxyingService.getAllServeEvents(), hasSize(2));
+
+    List<StubMapping> recorded = proxy.takeSnapshotRecording();
+
+    assertThat(recorded, hasSize(1));
+    assertThat(recorded.get(0).getRequest().getUrl(), is("/short"));
+  }
+
+  @Test
+  public void streamsResponseBytesToTheClientBeforeTheOtherServiceHasFinishedSendingThem()
+      throws Exception {
+    init(wireMockConfig().streamProxyResponses(true));
+
+    CountDownLatch firstPartReceived = new CountDownLatch(1);
+    HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+    server.createContext(
+        "/slow",
+        exchange -> {
+          exchange.sendResponseHeaders(200, 0);
+          OutputStream out = exchange.getResponseBody();
+          out.write("first part,".getBytes(UTF_8));
+          out.flush();
+          try {
+            firstPartReceived.await(10, SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          out.write("second part".getBytes(UTF_8));
+          out.close();
+        });
+    server.start();
+
+    try {
+      proxy.register(
+          get(urlEqualTo("/slow"))
+              .willReturn(
+                  aResponse().proxiedFrom("http://localhost:" + server.getAddress().getPort())));
+
+      HttpURLConnection connection =
+          (HttpURLConnection)
+              new URL("http://localhost:" + proxyingService.port() + "/slow").openConnection();
+      connection.setReadTimeout(5000);
+      try (InputStream body = connection.getInputStream()) {
+        assertThat(new String(body.readNBytes(11), UTF_8), is("first part,"));
+        firstPartReceived.countDown();
+        assertThat(new String(body.readAllBytes(), UTF_8), is("second part"));
+      }
+
+      await().atMost(5, SECONDS).until(() -> proxyingService.getAllServeEvents(), hasSize(1));
+      assertThat(
+          proxyingService.getAllServeEvents().get(0).getResponse().getBodyAsString(),
+          is("first part,second part"));
+    } finally {
+      server.stop(0);
+    }
+  }
+
   @Test
   public void
       successfullyGetsResponseFromOtherServiceViaProxyWhenInjectingAddtionalRequestHeaders() {
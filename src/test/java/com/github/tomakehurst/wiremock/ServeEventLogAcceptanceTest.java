@@ -207,6 +207,24 @@ public class ServeEventLogAcceptanceTest extends AcceptanceTestBase {
     assertThat(serveEvents.get(1).getRequest().getUrl(), is("/two"));
   }
 
+  @Test
+  public void getsAPageOfServeEventsThatMatchedStubId() {
+    StubMapping stub = wm.stubFor(get(urlPathEqualTo("/one")).willReturn(ok()));
+    wm.stubFor(get("/two").willReturn(ok()));
+
+    for (int i = 1; i <= 5; i++) {
+      testClient.get("/one?i=" + i);
+      testClient.get("/two");
+    }
+
+    List<ServeEvent> serveEvents =
+        getAllServeEvents(ServeEventQuery.forStubMapping(stub).withPage(2, 1, null));
+
+    assertThat(serveEvents.size(), is(2));
+    assertThat(serveEvents.get(0).getRequest().getUrl(), is("/one?i=4"));
+    assertThat(serveEvents.get(1).getRequest().getUrl(), is("/one?i=3"));
+  }
+
   private Matcher<LoggedRequest> withUrl(final String url) {
     return new TypeSafeMatcher<>() {
       @Override
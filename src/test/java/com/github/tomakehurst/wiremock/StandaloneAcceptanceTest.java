@@ -25,6 +25,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.write;
 import static java.util.Arrays.asList;
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
@@ -304,10 +305,14 @@ public class StandaloneAcceptanceTest {
 
     testClient.get("/please/record-this");
 
-    assertThat(mappingsDirectory, containsAFileContaining("/please/record-this"));
-    assertThat(
-        contentsOfFirstFileNamedLike("please-record-this"),
-        containsString("bodyFileName\" : \"body-please-record-this"));
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(mappingsDirectory, containsAFileContaining("/please/record-this"));
+              assertThat(
+                  contentsOfFirstFileNamedLike("please-record-this"),
+                  containsString("bodyFileName\" : \"body-please-record-this"));
+            });
   }
 
   @Test
@@ -323,9 +328,14 @@ public class StandaloneAcceptanceTest {
 
     testClient.get("/please/record-headers", withHeader("accept", "application/json"));
 
-    assertThat(mappingsDirectory, containsAFileContaining("/please/record-headers"));
-    assertThat(
-        contentsOfFirstFileNamedLike("please-record-headers"), containsString("\"Accept\" : {"));
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(mappingsDirectory, containsAFileContaining("/please/record-headers"));
+              assertThat(
+                  contentsOfFirstFileNamedLike("please-record-headers"),
+                  containsString("\"Accept\" : {"));
+            });
   }
 
   @Test
@@ -341,8 +351,12 @@ public class StandaloneAcceptanceTest {
 
     testClient.get("/record-zip", withHeader("Accept-Encoding", "gzip,deflate"));
 
-    assertThat(mappingsDirectory, containsAFileContaining("/record-zip"));
-    assertThat(filesDirectory, containsAFileContaining("gzipped body"));
+    await()
+        .untilAsserted(
+            () -> {
+              assertThat(mappingsDirectory, containsAFileContaining("/record-zip"));
+              assertThat(filesDirectory, containsAFileContaining("gzipped body"));
+            });
   }
 
   @Test
@@ -396,6 +410,8 @@ public class StandaloneAcceptanceTest {
 
     testClient.get("/try-to/record-this");
     testClient.get("/try-to/record-this");
+    // Stopping flushes any recorded files that are still waiting to be written
+    runner.stop();
 
     assertThat(mappingsDirectory, containsExactlyOneFileWithNameContaining("try-to-record"));
   }
@@ -112,6 +112,38 @@ public class StubImportAcceptanceTest extends AcceptanceTestBase {
     assertThat(stubs.get(2).getResponse().getBody(), is("Updated"));
   }
 
+  @Test
+  public void firstOfStubsWithTheSameIdInImportWinsWhenOverwriting() {
+    UUID id = UUID.randomUUID();
+
+    admin.importStubs(
+        stubImport()
+            .stub(get("/one").withId(id).willReturn(ok("First")))
+            .stub(post("/two").willReturn(ok()))
+            .stub(get("/one").withId(id).willReturn(ok("Second")))
+            .build());
+
+    List<StubMapping> stubs = admin.listAllStubMappings().getMappings();
+    assertThat(stubs.size(), is(2));
+    assertThat(admin.getStubMapping(id).getItem().getResponse().getBody(), is("First"));
+  }
+
+  @Test
+  public void lastOfStubsWithTheSameIdInImportIsKeptWhenIgnoringExisting() {
+    UUID id = UUID.randomUUID();
+
+    admin.importStubs(
+        stubImport()
+            .stub(get("/one").withId(id).willReturn(ok("First")))
+            .stub(get("/one").withId(id).willReturn(ok("Second")))
+            .ignoreExisting()
+            .build());
+
+    List<StubMapping> stubs = admin.listAllStubMappings().getMappings();
+    assertThat(stubs.size(), is(1));
+    assertThat(stubs.get(0).getResponse().getBody(), is("Second"));
+  }
+
   @Test
   public void doesNotDeleteStubsNotInImportIfNotConfigured() {
     UUID id1 = UUID.randomUUID();
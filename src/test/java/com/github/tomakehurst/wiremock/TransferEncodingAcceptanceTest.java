@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2019-2021 Thomas Akehurst
+ * Copyright (C) 2019-2023 Thomas Akehurst
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -57,6 +57,22 @@ public class TransferEncodingAcceptanceTest {
     assertThat(response.firstHeader("Content-Length"), is(expectedContentLength));
   }
 
+  @Test
+  public void sendsContentLengthOfBodyFileWhenTransferEncodingChunkedPolicyIsNever() {
+    startWithChunkedEncodingPolicy(Options.ChunkedEncodingPolicy.NEVER);
+
+    final String url = "/content-length-body-file";
+
+    wm.stubFor(get(url).willReturn(ok().withBodyFile("plain-example.txt")));
+
+    WireMockResponse response = testClient.get(url);
+    assertThat(response.statusCode(), is(200));
+
+    assertThat(response.firstHeader("Transfer-Encoding"), nullValue());
+    assertThat(response.firstHeader("Content-Length"), is("29"));
+    assertThat(response.content(), is("Some example test from a file"));
+  }
+
   @Test
   public void sendsTransferEncodingChunkedWhenPolicyIsAlways() {
     startWithChunkedEncodingPolicy(Options.ChunkedEncodingPolicy.ALWAYS);
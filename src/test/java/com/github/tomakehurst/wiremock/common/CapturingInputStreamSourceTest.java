@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class CapturingInputStreamSourceTest {
+
+  AtomicBoolean ownerClosed = new AtomicBoolean();
+
+  @Test
+  void capturesOnlyAsMuchOfTheStreamAsAskedForAndStreamsTheRest() throws Exception {
+    CapturingInputStreamSource source = sourceOf("abcdefghij", 8);
+
+    assertThat(new String(source.getCaptured(new Limit(3)), UTF_8), is("abc"));
+    assertThat(new String(source.getCaptured(Limit.UNLIMITED), UTF_8), is("abcdefgh"));
+    assertThat(ownerClosed.get(), is(false));
+
+    try (InputStream stream = source.getStream()) {
+      assertThat(new String(stream.readAllBytes(), UTF_8), is("abcdefghij"));
+    }
+    assertThat(ownerClosed.get(), is(true));
+  }
+
+  @Test
+  void capturesBytesAsTheyAreStreamedWithoutReadingAhead() throws Exception {
+    CapturingInputStreamSource source = sourceOf("abcdefghij", 4);
+
+    try (InputStream stream = source.getStream()) {
+      assertThat(new String(stream.readNBytes(2), UTF_8), is("ab"));
+      assertThat(new String(source.getCaptured(Limit.UNLIMITED), UTF_8), is("ab"));
+
+      assertThat(new String(stream.readAllBytes(), UTF_8), is("cdefghij"));
+    }
+
+    assertThat(new String(source.getCaptured(Limit.UNLIMITED), UTF_8), is("abcd"));
+    assertThat(source.isCapturedInFull(), is(false));
+    assertThat(ownerClosed.get(), is(true));
+  }
+
+  @Test
+  void isCapturedInFullWhenStreamedToTheEndWithinTheLimit() throws Exception {
+    CapturingInputStreamSource source = sourceOf("abc", 10);
+
+    assertThat(new String(source.getStream().readAllBytes(), UTF_8), is("abc"));
+
+    assertThat(source.isCapturedInFull(), is(true));
+    assertThat(new String(source.getCaptured(Limit.UNLIMITED), UTF_8), is("abc"));
+  }
+
+  @Test
+  void canOnlyStreamOnceWhenNotCapturedInFull() {
+    CapturingInputStreamSource source = sourceOf("abcdefghij", 4);
+
+    source.getStream();
+
+    assertThrows(IllegalStateException.class, source::getStream);
+  }
+
+  @Test
+  void canStreamAnyNumberOfTimesWhenCapturedInFull() throws Exception {
+    CapturingInputStreamSource source = sourceOf("abc", 10);
+
+    source.getCaptured(Limit.UNLIMITED);
+
+    assertThat(ownerClosed.get(), is(true));
+    assertThat(new String(source.getStream().readAllBytes(), UTF_8), is("abc"));
+    assertThat(new String(source.getStream().readAllBytes(), UTF_8), is("abc"));
+  }
+
+  @Test
+  void readsWholeStreamToFindLength() throws Exception {
+    CapturingInputStreamSource source = sourceOf("abcdefghij", 2);
+
+    assertThat(source.length(), is(10L));
+    assertThat(new String(source.getCaptured(Limit.UNLIMITED), UTF_8), is("ab"));
+    assertThat(new String(source.getStream().readAllBytes(), UTF_8), is("abcdefghij"));
+  }
+
+  private CapturingInputStreamSource sourceOf(String content, int maxCapturedBytes) {
+    return new CapturingInputStreamSource(
+        new ByteArrayInputStream(content.getBytes(UTF_8)),
+        () -> ownerClosed.set(true),
+        maxCapturedBytes);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+public class JsonPathCacheTest {
+
+  @Test
+  public void returnsTheSameCompiledExpressionForTheSameString() {
+    JsonPath first = JsonPathCache.compile("$.things[0].id");
+    JsonPath second = JsonPathCache.compile("$.things[0].id");
+
+    assertThat(second, sameInstance(first));
+    assertThat(first.getPath(), is("$['things'][0]['id']"));
+  }
+
+  @Test
+  public void throwsForInvalidExpressionsEveryTime() {
+    assertThrows(InvalidPathException.class, () -> JsonPathCache.compile("$.things["));
+    assertThrows(InvalidPathException.class, () -> JsonPathCache.compile("$.things["));
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class TargetAddressCacheTest {
+
+  static final NetworkAddressRules DENY_LINK_LOCAL =
+      NetworkAddressRules.builder().deny("169.254.0.0-169.254.255.255").build();
+
+  final Map<String, String[]> dns = new HashMap<>();
+  final AtomicInteger lookups = new AtomicInteger();
+  final AtomicLong now = new AtomicLong(1000);
+
+  @Test
+  void allowsHostWhenAllResolvedAddressesAreAllowed() {
+    dns.put("example.com", new String[] {"10.1.1.1", "10.1.1.2"});
+    TargetAddressCache cache = cache(1000, 1000);
+
+    assertThat(cache.isAllowed("example.com", DENY_LINK_LOCAL), is(true));
+  }
+
+  @Test
+  void deniesHostWhenAnyResolvedAddressIsDenied() {
+    dns.put("example.com", new String[] {"10.1.1.1", "169.254.169.254"});
+    TargetAddressCache cache = cache(1000, 1000);
+
+    assertThat(cache.isAllowed("example.com", DENY_LINK_LOCAL), is(false));
+  }
+
+  @Test
+  void deniesHostThatDoesNotResolve() {
+    TargetAddressCache cache = cache(1000, 1000);
+
+    assertThat(cache.isAllowed("unknown.example.com", NetworkAddressRules.ALLOW_ALL), is(false));
+  }
+
+  @Test
+  void reusesResolutionUntilTtlExpires() {
+    dns.put("example.com", new String[] {"10.1.1.1"});
+    TargetAddressCache cache = cache(1000, 100);
+
+    cache.isAllowed("example.com", DENY_LINK_LOCAL);
+    now.addAndGet(999);
+    cache.isAllowed("example.com", DENY_LINK_LOCAL);
+    assertThat(lookups.get(), is(1));
+
+    dns.put("example.com", new String[] {"169.254.169.254"});
+    now.addAndGet(1);
+    assertThat(cache.isAllowed("example.com", DENY_LINK_LOCAL), is(false));
+    assertThat(lookups.get(), is(2));
+  }
+
+  @Test
+  void cachesFailedResolutionsForTheNegativeTtl() {
+    TargetAddressCache cache = cache(1000, 100);
+
+    cache.isAllowed("example.com", NetworkAddressRules.ALLOW_ALL);
+    dns.put("example.com", new String[] {"10.1.1.1"});
+    now.addAndGet(99);
+    assertThat(cache.isAllowed("example.com", NetworkAddressRules.ALLOW_ALL), is(false));
+    assertThat(lookups.get(), is(1));
+
+    now.addAndGet(1);
+    assertThat(cache.isAllowed("example.com", NetworkAddressRules.ALLOW_ALL), is(true));
+    assertThat(lookups.get(), is(2));
+  }
+
+  @Test
+  void evaluatesEachSetOfRulesAgainstTheSharedResolution() {
+    dns.put("example.com", new String[] {"169.254.169.254"});
+    TargetAddressCache cache = cache(1000, 1000);
+
+    assertThat(cache.isAllowed("example.com", NetworkAddressRules.ALLOW_ALL), is(true));
+    assertThat(cache.isAllowed("example.com", DENY_LINK_LOCAL), is(false));
+    assertThat(lookups.get(), is(1));
+  }
+
+  @Test
+  void resolvesEveryTimeWhenTtlsAreZero() {
+    dns.put("example.com", new String[] {"10.1.1.1"});
+    TargetAddressCache cache = cache(0, 0);
+
+    cache.isAllowed("example.com", DENY_LINK_LOCAL);
+    cache.isAllowed("example.com", DENY_LINK_LOCAL);
+    cache.isAllowed("unknown.example.com", DENY_LINK_LOCAL);
+    cache.isAllowed("unknown.example.com", DENY_LINK_LOCAL);
+
+    assertThat(lookups.get(), is(4));
+  }
+
+  @Test
+  void cachesOnlyFailuresWhenPositiveTtlIsZero() {
+    dns.put("example.com", new String[] {"10.1.1.1"});
+    TargetAddressCache cache = cache(0, 1000);
+
+    cache.isAllowed("example.com", DENY_LINK_LOCAL);
+    cache.isAllowed("example.com", DENY_LINK_LOCAL);
+    cache.isAllowed("unknown.example.com", DENY_LINK_LOCAL);
+    cache.isAllowed("unknown.example.com", DENY_LINK_LOCAL);
+
+    assertThat(lookups.get(), is(3));
+  }
+
+  @Test
+  void resolvesToTheAddressesThatWereCheckedUntilTtlExpires() throws Exception {
+    dns.put("example.com", new String[] {"10.1.1.1"});
+    TargetAddressCache cache = cache(1000, 100);
+
+    assertThat(cache.isAllowed("example.com", DENY_LINK_LOCAL), is(true));
+    dns.put("example.com", new String[] {"169.254.169.254"});
+    InetAddress[] addresses = cache.resolveAllowed("example.com", DENY_LINK_LOCAL);
+
+    assertThat(addresses, arrayContaining(InetAddress.getByName("10.1.1.1")));
+    assertThat(lookups.get(), is(1));
+
+    now.addAndGet(1000);
+    assertThrows(
+        UnknownHostException.class, () -> cache.resolveAllowed("example.com", DENY_LINK_LOCAL));
+  }
+
+  @Test
+  void doesNotResolveHostsThatAreDeniedOrUnknown() {
+    dns.put("example.com", new String[] {"10.1.1.1", "169.254.169.254"});
+    TargetAddressCache cache = cache(0, 0);
+
+    assertThrows(
+        UnknownHostException.class, () -> cache.resolveAllowed("example.com", DENY_LINK_LOCAL));
+    assertThrows(
+        UnknownHostException.class,
+        () -> cache.resolveAllowed("unknown.example.com", NetworkAddressRules.ALLOW_ALL));
+  }
+
+  @Test
+  void rejectsNegativeTtls() {
+    assertThrows(IllegalArgumentException.class, () -> new TargetAddressCache(-1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new TargetAddressCache(0, -1));
+  }
+
+  private TargetAddressCache cache(long ttlMillis, long negativeTtlMillis) {
+    return new TargetAddressCache(ttlMillis, negativeTtlMillis, this::resolve, now::get);
+  }
+
+  private InetAddress[] resolve(String host) throws UnknownHostException {
+    lookups.incrementAndGet();
+    final String[] addresses = dns.get(host);
+    if (addresses == null) {
+      throw new UnknownHostException(host);
+    }
+
+    final InetAddress[] resolved = new InetAddress[addresses.length];
+    for (int i = 0; i < addresses.length; i++) {
+      resolved[i] = InetAddress.getByName(addresses[i]);
+    }
+    return resolved;
+  }
+}
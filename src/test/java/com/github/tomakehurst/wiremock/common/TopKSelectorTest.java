@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.common;
+
+import static com.github.tomakehurst.wiremock.common.TopKSelector.selectLowest;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class TopKSelectorTest {
+
+  @Test
+  public void returnsLowestScoringInAscendingOrder() {
+    List<Integer> result =
+        selectLowest(asList(5, 3, 9, 1, 7), Function.identity(), Integer::doubleValue, 3);
+
+    assertThat(result, contains(1, 3, 5));
+  }
+
+  @Test
+  public void returnsEverythingWhenFewerThanKSources() {
+    assertThat(
+        selectLowest(new LinkedList<>(asList(2, 1)), Function.identity(), Integer::doubleValue, 3),
+        contains(1, 2));
+    assertThat(
+        selectLowest(new ArrayList<Integer>(), Function.identity(), Integer::doubleValue, 3),
+        empty());
+  }
+
+  @Test
+  public void keepsTiesInSourceOrder() {
+    List<String> result =
+        selectLowest(asList("b", "a", "c", "d"), Function.identity(), value -> 1.0, 2);
+
+    assertThat(result, contains("b", "a"));
+  }
+
+  @Test
+  public void givesSameResultAsStableSortForLargeListsSplitAcrossThreads() {
+    Random random = new Random(42);
+    List<int[]> sources =
+        IntStream.range(0, TopKSelector.SEQUENTIAL_THRESHOLD * 20)
+            .mapToObj(index -> new int[] {index, random.nextInt(50)})
+            .collect(toList());
+
+    List<int[]> expected =
+        sources.stream()
+            .sorted(Comparator.comparingInt(source -> source[1]))
+            .limit(10)
+            .collect(toList());
+    List<int[]> result = selectLowest(sources, Function.identity(), source -> source[1], 10);
+
+    assertThat(result, is(expected));
+  }
+
+  @Test
+  public void stopsScanningOnceKResultsAtCutOffHaveBeenFound() {
+    List<Integer> sources = asList(4, 0, 3, 0, 0, 2, 1);
+    AtomicInteger mapped = new AtomicInteger();
+
+    List<Integer> result =
+        selectLowest(
+            sources,
+            value -> {
+              mapped.incrementAndGet();
+              return value;
+            },
+            Integer::doubleValue,
+            2,
+            0.0);
+
+    assertThat(result, contains(0, 0));
+    assertThat(mapped.get(), is(4));
+  }
+
+  @Test
+  public void cutOffGivesSameResultAsStableSortForLargeLists() {
+    List<int[]> sources =
+        IntStream.range(0, TopKSelector.SEQUENTIAL_THRESHOLD * 20)
+            .mapToObj(index -> new int[] {index, index % 97 == 0 ? 0 : 1 + index % 7})
+            .collect(toList());
+
+    List<int[]> expected =
+        sources.stream()
+            .sorted(Comparator.comparingInt(source -> source[1]))
+            .limit(3)
+            .collect(toList());
+    List<int[]> result = selectLowest(sources, Function.identity(), source -> source[1], 3, 0.0);
+
+    assertThat(result, is(expected));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.extension.responsetemplating;
+
+import static java.util.Collections.emptyMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class TemplateEngineTest {
+
+  TemplateEngine templateEngine = TemplateEngine.defaultTemplateEngine();
+
+  @Test
+  public void onlyFetchesContentWhenTemplateIsNotCached() {
+    AtomicInteger fetches = new AtomicInteger();
+    Supplier<String> content =
+        () -> {
+          fetches.incrementAndGet();
+          return "Hello {{name}}";
+        };
+
+    templateEngine.getTemplate("key", 1L, content);
+    String result = templateEngine.getTemplate("key", 1L, content).apply(Map.of("name", "Tom"));
+
+    assertThat(result, is("Hello Tom"));
+    assertThat(fetches.get(), is(1));
+  }
+
+  @Test
+  public void recompilesTemplateWhenContentVersionChanges() {
+    templateEngine.getTemplate("key", 1L, () -> "Old {{name}}");
+
+    String result =
+        templateEngine.getTemplate("key", 2L, () -> "New {{name}}").apply(Map.of("name", "Tom"));
+
+    assertThat(result, is("New Tom"));
+    assertThat(templateEngine.getCacheSize(), is(1L));
+  }
+
+  @Test
+  public void alwaysFetchesContentWhenCachingIsDisabled() {
+    templateEngine = new TemplateEngine(emptyMap(), 0L, null, false);
+    AtomicInteger fetches = new AtomicInteger();
+    Supplier<String> content =
+        () -> {
+          fetches.incrementAndGet();
+          return "Hello";
+        };
+
+    templateEngine.getTemplate("key", 1L, content);
+    templateEngine.getTemplate("key", 1L, content);
+
+    assertThat(fetches.get(), is(2));
+    assertThat(templateEngine.getCacheSize(), is(0L));
+  }
+}
@@ -19,7 +19,11 @@ import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
 import static com.github.tomakehurst.wiremock.stubbing.ServeEventFactory.newPostMatchServeEvent;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.CapturingInputStreamSource;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformerV2;
 import com.github.tomakehurst.wiremock.global.GlobalSettings;
@@ -27,8 +31,10 @@ import com.github.tomakehurst.wiremock.store.BlobStore;
 import com.github.tomakehurst.wiremock.store.InMemorySettingsStore;
 import com.github.tomakehurst.wiremock.store.SettingsStore;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -109,6 +115,51 @@ public class StubResponseRendererTest {
     assertThat(response.getInitialDelay(), is(2123L));
   }
 
+  @Test
+  public void releasesStreamedBodyThatATransformerReplaces() {
+    AtomicBoolean released = new AtomicBoolean();
+    ProxyResponseRenderer proxyResponseRenderer = Mockito.mock(ProxyResponseRenderer.class);
+    when(proxyResponseRenderer.render(any()))
+        .thenReturn(
+            Response.response()
+                .body(
+                    new CapturingInputStreamSource(
+                        new ByteArrayInputStream(new byte[100]), () -> released.set(true), 10))
+                .build());
+    v2ResponseTransformers.add(new ReplacingBodyTransformer());
+    stubResponseRenderer =
+        new StubResponseRenderer(
+            filesBlobStore,
+            settingsStore,
+            proxyResponseRenderer,
+            responseTransformers,
+            v2ResponseTransformers);
+
+    Response response =
+        stubResponseRenderer.render(
+            newPostMatchServeEvent(
+                mockRequest(),
+                ResponseDefinitionBuilder.responseDefinition()
+                    .proxiedFrom("http://localhost:8080")
+                    .build()));
+
+    assertThat(response.getBodyAsString(), is("replaced"));
+    assertThat(released.get(), is(true));
+  }
+
+  private static class ReplacingBodyTransformer implements ResponseTransformerV2 {
+
+    @Override
+    public Response transform(Response response, ServeEvent serveEvent) {
+      return Response.Builder.like(response).but().body("replaced").build();
+    }
+
+    @Override
+    public String getName() {
+      return "replacing-body";
+    }
+  }
+
   private ServeEvent createServeEvent(Integer fixedDelayMillis) {
     return newPostMatchServeEvent(
         mockRequest(),
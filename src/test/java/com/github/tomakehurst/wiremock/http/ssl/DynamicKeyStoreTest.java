@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http.ssl;
+
+import static com.github.tomakehurst.wiremock.testsupport.TestFiles.KEY_STORE_WITH_CA_PATH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.FileInputStream;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.net.ssl.SNIHostName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+public class DynamicKeyStoreTest {
+
+  @Test
+  @DisabledForJreRange(
+      min = JRE.JAVA_17,
+      disabledReason = "does not support generating certificates at runtime")
+  public void generatesOneCertificateForConcurrentRequestsForTheSameHost() throws Exception {
+    DynamicKeyStore dynamicKeyStore = new DynamicKeyStore(readKeyStore(), new KeyPairPool(0));
+    SNIHostName hostName = new SNIHostName("example.com");
+
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<PrivateKey>> keys = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      keys.add(
+          executor.submit(
+              () -> {
+                start.await();
+                dynamicKeyStore.generateCertificateIfNecessary("RSA", hostName);
+                return dynamicKeyStore.getPrivateKey("example.com");
+              }));
+    }
+    start.countDown();
+
+    PrivateKey first = keys.get(0).get();
+    assertThat(first, notNullValue());
+    for (Future<PrivateKey> key : keys) {
+      assertThat(key.get(), sameInstance(first));
+    }
+    executor.shutdown();
+  }
+
+  private static X509KeyStore readKeyStore() throws Exception {
+    KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+    try (FileInputStream instream = new FileInputStream(KEY_STORE_WITH_CA_PATH)) {
+      keyStore.load(instream, "password".toCharArray());
+    }
+    return new X509KeyStore(keyStore, "password".toCharArray());
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.http.ssl;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.security.KeyPair;
+import org.junit.jupiter.api.Test;
+
+public class KeyPairPoolTest {
+
+  @Test
+  public void generatesKeyPairsAheadOfTime() throws Exception {
+    KeyPairPool keyPairPool = new KeyPairPool(2);
+    keyPairPool.prepare("EC");
+
+    await().until(() -> keyPairPool.available("EC"), is(2));
+
+    KeyPair pair = keyPairPool.take("EC");
+    assertThat(pair.getPrivate().getAlgorithm(), is("EC"));
+    await().until(() -> keyPairPool.available("EC"), is(2));
+  }
+
+  @Test
+  public void generatesKeyPairsOnTheCallingThreadWhenThereIsNoPool() throws Exception {
+    KeyPairPool keyPairPool = new KeyPairPool(0);
+
+    KeyPair pair = keyPairPool.take("RSA");
+
+    assertThat(pair.getPrivate().getAlgorithm(), is("RSA"));
+    assertThat(keyPairPool.available("RSA"), is(0));
+  }
+}
@@ -111,6 +111,16 @@ public class MatchesJsonPathPatternTest {
         "Warning: JSON path expression '$.something' failed to match document 'Not a JSON document' because of error 'Expected to find an object with property ['something'] in path $ but found 'java.lang.String'. This is not a json object according to the JsonProvider: 'com.jayway.jsonpath.spi.json.JsonSmartJsonProvider'.'");
   }
 
+  @Test
+  public void invalidExpressionIsReportedWhenMatchingRatherThanWhenCreated() {
+    StringValuePattern pattern = WireMock.matchingJsonPath("$.things[");
+    MatchResult match = pattern.match("{ \"things\": [] }");
+
+    assertFalse(match.isExactMatch(), "Expected the match to fail");
+    assertThat(match.getSubEvents().size(), is(1));
+    assertThat(match.getSubEvents().get(0).getType(), is(WARNING));
+  }
+
   private static void checkWarningMessageAndEvent(
       Notifier notifier, MatchResult match, String warningMessage) {
     verify(notifier).info(warningMessage);
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.matching;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonSchema;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.common.Json;
+import com.github.tomakehurst.wiremock.common.JsonException;
+import com.github.tomakehurst.wiremock.common.xml.XmlException;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+public class ParsedContentTest {
+
+  private static final String JSON = "{\"thing\": {\"id\": 123}}";
+
+  @Test
+  public void parsesTheScopedBodyOnlyOnceForEachForm() {
+    LoggedRequest request = requestWithBody(JSON);
+
+    try (ParsedContent.Scope ignored = ParsedContent.openScope(request)) {
+      String body = ParsedContent.bodyAsString(request);
+
+      assertThat(body, sameInstance(ParsedContent.bodyAsString(request)));
+      assertThat(ParsedContent.jsonTree(body), sameInstance(ParsedContent.jsonTree(body)));
+      assertThat(
+          ParsedContent.jsonPathDocument(body), sameInstance(ParsedContent.jsonPathDocument(body)));
+    }
+  }
+
+  @Test
+  public void parsesValuesOutsideTheScopeEachTime() {
+    LoggedRequest request = requestWithBody(JSON);
+    String body;
+
+    try (ParsedContent.Scope ignored = ParsedContent.openScope(request)) {
+      body = ParsedContent.bodyAsString(request);
+      String equalBody = new String(body);
+
+      assertThat(
+          ParsedContent.jsonTree(body), not(sameInstance(ParsedContent.jsonTree(equalBody))));
+      assertThat(ParsedContent.jsonTree(body), is(ParsedContent.jsonTree(equalBody)));
+    }
+
+    assertThat(ParsedContent.bodyAsString(request), not(sameInstance(body)));
+    assertThat(ParsedContent.jsonTree(body), not(sameInstance(ParsedContent.jsonTree(body))));
+  }
+
+  @Test
+  public void rethrowsParseFailuresEachTime() {
+    LoggedRequest request = requestWithBody("<thing>");
+
+    try (ParsedContent.Scope ignored = ParsedContent.openScope(request)) {
+      String body = ParsedContent.bodyAsString(request);
+
+      assertThrows(JsonException.class, () -> ParsedContent.jsonTree(body));
+      assertThrows(JsonException.class, () -> ParsedContent.jsonTree(body));
+      assertThrows(XmlException.class, () -> ParsedContent.xmlDocument(body));
+      assertThrows(XmlException.class, () -> ParsedContent.xmlDocument(body));
+    }
+  }
+
+  @Test
+  public void sharesParsedBodyBetweenPatternsMatchingTheSameRequest() {
+    LoggedRequest request = requestWithBody(JSON);
+    RequestPattern byEquality =
+        postRequestedFor(urlEqualTo("/thing")).withRequestBody(equalToJson(JSON)).build();
+    String schema = "{\"type\": \"object\", \"required\": [\"thing\"]}";
+    RequestPattern bySchema =
+        postRequestedFor(urlEqualTo("/thing")).withRequestBody(matchingJsonSchema(schema)).build();
+
+    try (MockedStatic<Json> json = mockStatic(Json.class, CALLS_REAL_METHODS);
+        ParsedContent.Scope ignored = ParsedContent.openScope(request)) {
+      assertThat(byEquality.match(request).isExactMatch(), is(true));
+      assertThat(bySchema.match(request).isExactMatch(), is(true));
+
+      json.verify(() -> Json.read(anyString(), eq(JsonNode.class)), times(1));
+    }
+  }
+
+  private static LoggedRequest requestWithBody(String body) {
+    return createFrom(aRequest().withMethod(POST).withUrl("/thing").withBody(body).build());
+  }
+}
@@ -49,9 +49,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.github.tomakehurst.wiremock.common.Json;
 import com.github.tomakehurst.wiremock.http.FormParameter;
 import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.SubEvent;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -116,6 +118,50 @@ public class RequestPatternTest {
     assertFalse(matchResult.isExactMatch());
   }
 
+  @Test
+  public void doesNotEvaluateBodyPatternsWhenUrlDoesNotMatchButStillReportsDistance() {
+    RequestPattern requestPattern =
+        newRequestPattern(POST, urlPathEqualTo("/my/url"))
+            .withRequestBody(equalToJson("{ \"thing\": \"value\" }"))
+            .build();
+
+    MatchResult urlMismatch =
+        requestPattern.match(mockRequest().method(POST).url("/my/other").body("{ \"thing\": "));
+    MatchResult bodyMismatch =
+        requestPattern.match(mockRequest().method(POST).url("/my/url").body("{ \"thing\": "));
+
+    assertFalse(urlMismatch.isExactMatch());
+    assertThat(urlMismatch.getSubEvents().isEmpty(), is(true));
+    assertThat(urlMismatch.getDistance(), greaterThan(bodyMismatch.getDistance()));
+
+    assertFalse(bodyMismatch.isExactMatch());
+    assertThat(bodyMismatch.getSubEvents().isEmpty(), is(false));
+  }
+
+  @Test
+  public void matchesUrlOnlyOnceAndKeepsItsSubEvents() {
+    AtomicInteger urlMatches = new AtomicInteger();
+    SubEvent urlChecked = SubEvent.info("url checked");
+    UrlPattern url =
+        new UrlPattern(new EqualToPattern("/my/url"), false) {
+          @Override
+          public MatchResult match(String url) {
+            urlMatches.incrementAndGet();
+            return MatchResult.of(super.match(url).isExactMatch(), urlChecked);
+          }
+        };
+    RequestPattern requestPattern = newRequestPattern(POST, url).build();
+
+    MatchResult match = requestPattern.match(mockRequest().method(POST).url("/my/url"));
+    MatchResult urlMismatch = requestPattern.match(mockRequest().method(POST).url("/my/other"));
+    urlMismatch.getDistance();
+
+    assertTrue(match.isExactMatch());
+    assertFalse(urlMismatch.isExactMatch());
+    assertThat(urlMatches.get(), is(2));
+    assertThat(urlMismatch.getSubEvents(), hasItems(urlChecked));
+  }
+
   @Test
   public void matchesExactlyWhenRequiredAbsentHeaderIsAbsent() {
     RequestPattern requestPattern =
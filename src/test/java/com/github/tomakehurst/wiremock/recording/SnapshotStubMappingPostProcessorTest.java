@@ -24,9 +24,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.MatchResult;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 public class SnapshotStubMappingPostProcessorTest {
@@ -48,6 +52,37 @@ public class SnapshotStubMappingPostProcessorTest {
     assertThat(actual.get(1).getRequest().getUrl(), equalTo("/bar"));
   }
 
+  @Test
+  public void processBatchShouldFilterRequestsRepeatedFromEarlierBatches() {
+    final SnapshotStubMappingPostProcessor postProcessor =
+        new SnapshotStubMappingPostProcessor(false, noopTransformerRunner(), null, null);
+    final Set<RequestPattern> seenRequests = new HashSet<>();
+
+    final List<StubMapping> first =
+        postProcessor.processBatch(testStubMappings.subList(0, 2), seenRequests);
+    final List<StubMapping> second =
+        postProcessor.processBatch(testStubMappings.subList(2, 3), seenRequests);
+
+    assertThat(first, hasSize(2));
+    assertThat(second, empty());
+  }
+
+  @Test
+  public void processBatchWithRecordRepeatsAsScenariosShouldPutRepeatsInScenariosOnFinish() {
+    final SnapshotStubMappingPostProcessor postProcessor =
+        new SnapshotStubMappingPostProcessor(true, noopTransformerRunner(), null, null);
+    final Set<RequestPattern> seenRequests = new HashSet<>();
+
+    final List<StubMapping> processed = new ArrayList<>();
+    processed.addAll(postProcessor.processBatch(testStubMappings.subList(0, 2), seenRequests));
+    processed.addAll(postProcessor.processBatch(testStubMappings.subList(2, 3), seenRequests));
+    postProcessor.finish(processed);
+
+    assertThat(processed, hasSize(3));
+    assertThat(processed.get(0).getScenarioName(), is(processed.get(2).getScenarioName()));
+    assertThat(processed.get(1).getScenarioName(), nullValue());
+  }
+
   @Test
   public void processWithTransformerShouldTransformStubMappingRequestUrls() {
     SnapshotStubMappingTransformerRunner transformerRunner =
@@ -33,8 +33,10 @@ import com.github.tomakehurst.wiremock.common.ClasspathFileSource;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.common.Limit;
 import com.github.tomakehurst.wiremock.common.NetworkAddressRules;
+import com.github.tomakehurst.wiremock.common.NotMatchedDiffSettings;
 import com.github.tomakehurst.wiremock.common.ProxySettings;
 import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.common.TargetAddressCache;
 import com.github.tomakehurst.wiremock.common.ssl.KeyStoreSettings;
 import com.github.tomakehurst.wiremock.core.MappingsSaver;
 import com.github.tomakehurst.wiremock.core.Options;
@@ -43,6 +45,8 @@ import com.github.tomakehurst.wiremock.http.CaseInsensitiveKey;
 import com.github.tomakehurst.wiremock.http.Request;
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.http.trafficlistener.ConsoleNotifyingWiremockNetworkTrafficListener;
+import com.github.tomakehurst.wiremock.jetty.QueuedThreadPoolFactory;
+import com.github.tomakehurst.wiremock.jetty.VirtualThreadPoolFactory;
 import com.github.tomakehurst.wiremock.matching.MatchResult;
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.security.Authenticator;
@@ -718,6 +722,40 @@ public class CommandLineOptionsTest {
     assertThat(limit.isExceededBy(19), is(true));
   }
 
+  @Test
+  void notMatchedDiffsAreSynchronousAndUnlimitedByDefault() {
+    CommandLineOptions options = new CommandLineOptions();
+
+    NotMatchedDiffSettings settings = options.getNotMatchedDiffSettings();
+
+    assertThat(settings.isAsynchronous(), is(false));
+    assertThat(settings.getMaxPerSecond().isUnlimited(), is(true));
+  }
+
+  @Test
+  void notMatchedDiffSettings() {
+    CommandLineOptions options =
+        new CommandLineOptions(
+            "--async-not-matched-diffs", "--max-not-matched-diffs-per-second", "20");
+
+    NotMatchedDiffSettings settings = options.getNotMatchedDiffSettings();
+
+    assertThat(settings.isAsynchronous(), is(true));
+    assertThat(settings.getMaxPerSecond().getValue(), is(20));
+  }
+
+  @Test
+  void usesPlatformThreadPoolByDefault() {
+    CommandLineOptions options = new CommandLineOptions();
+    assertThat(options.threadPoolFactory(), instanceOf(QueuedThreadPoolFactory.class));
+  }
+
+  @Test
+  void usesVirtualThreadPoolWhenVirtualThreadsSpecified() {
+    CommandLineOptions options = new CommandLineOptions("--virtual-threads");
+    assertThat(options.threadPoolFactory(), instanceOf(VirtualThreadPoolFactory.class));
+  }
+
   @Test
   void defaultLoggedResponseBodySizeLimit() {
     CommandLineOptions options = new CommandLineOptions();
@@ -761,6 +799,26 @@ public class CommandLineOptionsTest {
     assertThat(proxyTimeout, is(Options.DEFAULT_TIMEOUT));
   }
 
+  @Test
+  void proxyTargetDnsCacheTtls() {
+    CommandLineOptions options =
+        new CommandLineOptions(
+            "--proxy-target-dns-cache-ttl", "5000", "--proxy-target-dns-negative-cache-ttl", "0");
+
+    TargetAddressCache cache = options.getProxyTargetAddressCache();
+
+    assertThat(cache.getTtlMillis(), is(5000L));
+    assertThat(cache.getNegativeTtlMillis(), is(0L));
+    assertThat(options.getProxyTargetAddressCache(), sameInstance(cache));
+  }
+
+  @Test
+  void defaultProxyTargetDnsCache() {
+    CommandLineOptions options = new CommandLineOptions();
+
+    assertThat(options.getProxyTargetAddressCache(), sameInstance(TargetAddressCache.DEFAULT));
+  }
+
   @Test
   void testProxyPassThroughOptionPassedAsFalse() {
     CommandLineOptions options = new CommandLineOptions("--proxy-pass-through", "false");
@@ -20,22 +20,28 @@ import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.testsupport.TestFiles.filePath;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.github.tomakehurst.wiremock.common.ClasspathFileSource;
 import com.github.tomakehurst.wiremock.common.NotWritableException;
 import com.github.tomakehurst.wiremock.common.SingleRootFileSource;
+import com.github.tomakehurst.wiremock.common.TextFile;
 import com.github.tomakehurst.wiremock.common.filemaker.FilenameMaker;
 import com.github.tomakehurst.wiremock.stubbing.InMemoryStubMappings;
 import com.github.tomakehurst.wiremock.stubbing.StoreBackedStubMappings;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.testsupport.TestNotifier;
 import java.io.File;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
 import org.hamcrest.Matchers;
@@ -95,6 +101,101 @@ public class JsonFileMappingsSourceTest {
     assertThat(mappingRequestUrls, is(asList("/second_test", "/test")));
   }
 
+  @Test
+  public void loadsManyMappingFilesInListingOrder() throws Exception {
+    for (int i = 0; i < 200; i++) {
+      String url = String.format("/stub-%03d", i);
+      FileUtils.writeStringToFile(
+          new File(tempDir, url.substring(1) + ".json"),
+          StubMapping.buildJsonStringFor(get(url).willReturn(ok()).build()),
+          UTF_8);
+    }
+
+    load();
+
+    List<String> expectedUrls =
+        new SingleRootFileSource(tempDir).listFilesRecursively().stream()
+            .map(TextFile::name)
+            .map(name -> "/" + name.substring(0, name.length() - ".json".length()))
+            .collect(toList());
+    // Later insertions take precedence, so are returned first
+    Collections.reverse(expectedUrls);
+    List<String> loadedUrls =
+        stubMappings.getAll().stream().map(stub -> stub.getRequest().getUrl()).collect(toList());
+    assertThat(loadedUrls, is(expectedUrls));
+  }
+
+  @Test
+  public void reportsLoadTimeToTheGivenNotifier() throws Exception {
+    configureWithMultipleMappingFile();
+    TestNotifier notifier = new TestNotifier();
+
+    new JsonFileMappingsSource(new SingleRootFileSource(tempDir), new FilenameMaker(), notifier)
+        .loadMappingsInto(new InMemoryStubMappings());
+
+    assertThat(notifier.getInfoMessages(), hasSize(1));
+    assertThat(
+        notifier.getInfoMessages().get(0),
+        allOf(
+            startsWith("Loaded 3 stub mappings from 1 files in "),
+            containsString(stubMappingFile.getPath())));
+  }
+
+  @Test
+  public void loadsMappingsFromSnapshotUntilMappingFilesChange() throws Exception {
+    configureWithMultipleMappingFile();
+    Path snapshotFile = tempDir.toPath().resolve("snapshot").resolve("mappings.bin");
+    TestNotifier notifier = new TestNotifier();
+
+    StoreBackedStubMappings fromFiles = loadWithSnapshot(snapshotFile, notifier);
+    assertThat(Files.exists(snapshotFile), is(true));
+
+    JsonFileMappingsSource snapshotSource =
+        new JsonFileMappingsSource(
+            new SingleRootFileSource(tempDir), new FilenameMaker(), notifier, snapshotFile);
+    StoreBackedStubMappings fromSnapshot = new InMemoryStubMappings();
+    snapshotSource.loadMappingsInto(fromSnapshot);
+    assertThat(
+        notifier.getInfoMessages().get(1), startsWith("Loaded 3 stub mappings from snapshot "));
+    assertThat(fromSnapshot.getAll(), is(fromFiles.getAll()));
+    assertThrows(
+        NotWritableException.class, () -> snapshotSource.save(fromSnapshot.getAll().get(0)));
+
+    Files.copy(
+        Paths.get(filePath("multi-stub/single.json")), tempDir.toPath().resolve("single.json"));
+    assertThat(loadWithSnapshot(snapshotFile, notifier).getAll(), hasSize(4));
+    assertThat(
+        notifier.getInfoMessages().get(2), startsWith("Loaded 4 stub mappings from 2 files in "));
+    assertThat(loadWithSnapshot(snapshotFile, notifier).getAll(), hasSize(4));
+    assertThat(
+        notifier.getInfoMessages().get(3), startsWith("Loaded 4 stub mappings from snapshot "));
+  }
+
+  @Test
+  public void doesNotLoadMappingsFromSnapshotWhenMappingFileIsRenamed() throws Exception {
+    configureWithMultipleMappingFile();
+    Path snapshotFile = tempDir.toPath().resolve("snapshot").resolve("mappings.bin");
+    TestNotifier notifier = new TestNotifier();
+    loadWithSnapshot(snapshotFile, notifier);
+
+    // Moving keeps the file's size and modification time, so only its path changes
+    Files.move(stubMappingFile.toPath(), tempDir.toPath().resolve("renamed.json"));
+    assertThat(loadWithSnapshot(snapshotFile, notifier).getAll(), hasSize(3));
+    assertThat(
+        notifier.getInfoMessages().get(1),
+        allOf(
+            startsWith("Loaded 3 stub mappings from 1 files in "),
+            containsString("renamed.json")));
+  }
+
+  private StoreBackedStubMappings loadWithSnapshot(Path snapshotFile, TestNotifier notifier) {
+    StoreBackedStubMappings stubMappings = new InMemoryStubMappings();
+    new JsonFileMappingsSource(
+            new SingleRootFileSource(tempDir), new FilenameMaker(), notifier, snapshotFile)
+        .loadMappingsInto(stubMappings);
+    return stubMappings;
+  }
+
   @Test
   public void stubMappingFilesAreWrittenWithInsertionIndex() throws Exception {
     JsonFileMappingsSource source =
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.store;
+
+import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
+import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class BoundedInMemoryRequestJournalStoreTest {
+
+  @Test
+  void returnsEventsNewestFirst() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(5);
+    ServeEvent one = anEvent("/1");
+    ServeEvent two = anEvent("/2");
+    ServeEvent three = anEvent("/3");
+
+    store.add(one);
+    store.add(two);
+    store.add(three);
+
+    assertThat(store.getAll().collect(toList()), contains(three, two, one));
+    assertThat(store.size(), is(3L));
+  }
+
+  @Test
+  void overwritesOldestEventsWhenFull() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(2);
+    ServeEvent one = anEvent("/1");
+    ServeEvent two = anEvent("/2");
+    ServeEvent three = anEvent("/3");
+
+    store.add(one);
+    store.add(two);
+    store.add(three);
+
+    assertThat(store.getAll().collect(toList()), contains(three, two));
+    assertThat(store.size(), is(2L));
+    assertThat(store.get(one.getId()).isPresent(), is(false));
+    assertThat(store.get(two.getId()).get(), is(two));
+  }
+
+  @Test
+  void replacesEventsWithMatchingIdOnly() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(2);
+    ServeEvent one = anEvent("/1");
+    ServeEvent unknown = anEvent("/unknown");
+    store.add(one);
+
+    ServeEvent completed = one.withResponseDefinition(new ResponseDefinition());
+    store.put(one.getId(), completed);
+    store.put(unknown.getId(), unknown);
+
+    assertThat(store.getAll().collect(toList()), contains(completed));
+  }
+
+  @Test
+  void removesById() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(3);
+    ServeEvent one = anEvent("/1");
+    ServeEvent two = anEvent("/2");
+    ServeEvent three = anEvent("/3");
+    store.add(one);
+    store.add(two);
+    store.add(three);
+
+    store.remove(two.getId());
+
+    assertThat(store.getAll().collect(toList()), contains(three, one));
+    assertThat(store.size(), is(2L));
+  }
+
+  @Test
+  void removeLastRemovesOldestRemainingEvent() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(3);
+    ServeEvent one = anEvent("/1");
+    ServeEvent two = anEvent("/2");
+    ServeEvent three = anEvent("/3");
+    store.add(one);
+    store.add(two);
+    store.add(three);
+    store.remove(one.getId());
+
+    store.removeLast();
+
+    assertThat(store.getAll().collect(toList()), contains(three));
+  }
+
+  @Test
+  void clearsAllEvents() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(3);
+    store.add(anEvent("/1"));
+    store.add(anEvent("/2"));
+
+    store.clear();
+
+    assertThat(store.getAll().collect(toList()), empty());
+    assertThat(store.size(), is(0L));
+  }
+
+  @Test
+  void neverHoldsMoreThanCapacityUnderConcurrentAdds() throws Exception {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(10);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      final ServeEvent event = anEvent("/" + i);
+      futures.add(executor.submit(() -> store.add(event)));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    assertThat(store.size(), is(10L));
+    assertThat(store.getAll().count(), is(10L));
+  }
+
+  @Test
+  void indexedLookupsExcludeEvictedEvents() {
+    BoundedInMemoryRequestJournalStore store = new BoundedInMemoryRequestJournalStore(2);
+    ServeEvent one = anEvent("/things?page=1");
+    ServeEvent two = anEvent("/things?page=2");
+    ServeEvent three = anEvent("/things?page=3");
+    ServeEvent other = anEvent("/other");
+
+    store.add(one);
+    store.add(two);
+    store.add(three);
+
+    assertThat(
+        store.getAllForMethodAndUrlPath(null, "/things").collect(toList()), contains(three, two));
+
+    store.add(other);
+
+    assertThat(store.getAllForMethodAndUrlPath(null, "/things").collect(toList()), contains(three));
+    assertThat(store.getAllForMethodAndUrlPath(null, "/other").collect(toList()), contains(other));
+  }
+
+  @Test
+  void rejectsCapacityLessThanOne() {
+    assertThrows(IllegalArgumentException.class, () -> new BoundedInMemoryRequestJournalStore(0));
+  }
+
+  private static ServeEvent anEvent(String url) {
+    return ServeEvent.of(createFrom(aRequest().withUrl(url).build()));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.tomakehurst.wiremock.store;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.GET;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static com.github.tomakehurst.wiremock.matching.MockRequest.mockRequest;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryStubMappingStoreTest {
+
+  InMemoryStubMappingStore store;
+
+  @BeforeEach
+  void init() {
+    store = new InMemoryStubMappingStore();
+  }
+
+  @Test
+  void returnsIndexedAndUnindexedMatchesInPriorityThenReverseInsertionOrder() {
+    StubMapping exactUrl = add(get(urlEqualTo("/things/1?a=b")));
+    StubMapping exactPath = add(get(urlPathEqualTo("/things/1")));
+    StubMapping anyMethod = add(any(urlPathEqualTo("/things/1")));
+    StubMapping pathRegex = add(get(urlPathMatching("/things/[0-9]+")));
+    StubMapping pathTemplate = add(get(urlPathTemplate("/things/{id}")));
+    StubMapping urlRegex = add(get(urlMatching("/thing.*")));
+    StubMapping highPriority = add(get(urlPathEqualTo("/things/1")).atPriority(1));
+
+    assertThat(
+        findMatching(mockRequest().method(GET).url("/things/1?a=b")),
+        contains(
+            highPriority, urlRegex, pathTemplate, pathRegex, anyMethod, exactPath, exactUrl));
+  }
+
+  @Test
+  void doesNotReturnStubsIndexedUnderOtherMethodsOrUrls() {
+    add(post(urlPathEqualTo("/things/1")));
+    add(get(urlPathEqualTo("/things/2")));
+    add(get(urlPathMatching("/other/.*")));
+    add(get(urlPathTemplate("/other/{id}")));
+    StubMapping matching = add(get(urlPathEqualTo("/things/1")));
+
+    assertThat(findMatching(mockRequest().method(GET).url("/things/1")), contains(matching));
+    assertThat(findMatching(mockRequest().method(POST).url("/other/1")), empty());
+  }
+
+  @Test
+  void matchesRegexesWithOptionalCharactersAfterTheLiteralPrefix() {
+    StubMapping optionalSlash = add(get(urlPathMatching("^/things/?")));
+    StubMapping alternation = add(get(urlPathMatching("/things|/stuff")));
+
+    assertThat(findMatching(mockRequest().method(GET).url("/things")), contains(optionalSlash));
+    assertThat(findMatching(mockRequest().method(GET).url("/stuff")), contains(alternation));
+  }
+
+  @Test
+  void removedStubsAreNoLongerReturned() {
+    StubMapping stub = add(get(urlPathMatching("/things/.*")));
+
+    store.remove(stub);
+
+    assertThat(findMatching(mockRequest().method(GET).url("/things/1")), empty());
+    assertThat(store.getAll().collect(toList()), empty());
+  }
+
+  @Test
+  void prunesEmptyBucketsWhenStubsAreRemoved() {
+    StubMappingIndex index = new StubMappingIndex();
+    StubMapping exactUrl = get(urlEqualTo("/things?a=b")).build();
+    StubMapping exactPath = get(urlPathEqualTo("/things")).build();
+    StubMapping pathRegex = get(urlPathMatching("/things/[0-9]+")).build();
+    StubMapping pathTemplate = get(urlPathTemplate("/things/{id}")).build();
+    StubMapping unindexed = get(urlMatching("/thing.*")).build();
+    List<StubMapping> stubMappings =
+        List.of(exactUrl, exactPath, pathRegex, pathTemplate, unindexed);
+    for (int i = 0; i < stubMappings.size(); i++) {
+      stubMappings.get(i).setInsertionIndex(i);
+    }
+
+    stubMappings.forEach(index::add);
+    index.remove(get(urlPathMatching("/other/.*")).build());
+    stubMappings.forEach(index::remove);
+
+    assertThat(index.isEmpty(), is(true));
+  }
+
+  @Test
+  void replacedStubsAreReindexed() {
+    StubMapping existing = add(get(urlPathEqualTo("/old")));
+    StubMapping updated = get(urlPathEqualTo("/new")).build();
+    updated.setInsertionIndex(existing.getInsertionIndex());
+
+    store.replace(existing, updated);
+
+    assertThat(findMatching(mockRequest().method(GET).url("/old")), empty());
+    assertThat(findMatching(mockRequest().method(GET).url("/new")), contains(updated));
+  }
+
+  @Test
+  void clearsIndex() {
+    add(get(urlEqualTo("/things")));
+
+    store.clear();
+
+    assertThat(findMatching(mockRequest().method(GET).url("/things")).isEmpty(), is(true));
+  }
+
+  @Test
+  void extractsLiteralPrefixFromRegex() {
+    assertThat(StubMappingIndex.literalPrefixOf("/things/[0-9]+"), is("/things/"));
+    assertThat(StubMappingIndex.literalPrefixOf("^/things/.*"), is("/things/"));
+    assertThat(StubMappingIndex.literalPrefixOf("/things?"), is("/thing"));
+    assertThat(StubMappingIndex.literalPrefixOf("/things{2}"), is("/thing"));
+    assertThat(StubMappingIndex.literalPrefixOf("/a\\.b"), is("/a"));
+    assertThat(StubMappingIndex.literalPrefixOf("/a|/b"), is(""));
+    assertThat(StubMappingIndex.literalPrefixOf("(?i)/things"), is(""));
+  }
+
+  private StubMapping add(MappingBuilder mappingBuilder) {
+    StubMapping stubMapping = mappingBuilder.build();
+    store.add(stubMapping);
+    return stubMapping;
+  }
+
+  private List<StubMapping> findMatching(Request request) {
+    return store
+        .findAllMatchingRequest(request, Collections.emptyMap(), subEvent -> {})
+        .collect(toList());
+  }
+}
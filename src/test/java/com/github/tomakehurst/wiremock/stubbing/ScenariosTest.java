@@ -18,10 +18,17 @@ package com.github.tomakehurst.wiremock.stubbing;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -183,6 +190,34 @@ public class ScenariosTest {
     assertThat(scenarios.getByName("one"), nullValue());
   }
 
+  @Test
+  public void replacesPossibleStatesWhenStubUpdatedWithinTheSameScenario() {
+    UUID id = UUID.randomUUID();
+    StubMapping oldMapping =
+        get("/scenarios/1")
+            .withId(id)
+            .inScenario("one")
+            .whenScenarioStateIs(STARTED)
+            .willSetStateTo("step_2")
+            .willReturn(ok())
+            .build();
+    scenarios.onStubMappingAdded(oldMapping);
+
+    StubMapping newMapping =
+        get("/scenarios/1")
+            .withId(id)
+            .inScenario("one")
+            .whenScenarioStateIs(STARTED)
+            .willSetStateTo("step_3")
+            .willReturn(ok())
+            .build();
+    scenarios.onStubMappingUpdated(oldMapping, newMapping);
+
+    Scenario scenario = scenarios.getByName("one");
+    assertThat(scenario.getMappings(), hasSize(1));
+    assertThat(scenario.getPossibleStates(), containsInAnyOrder(STARTED, "step_3"));
+  }
+
   @Test
   public void modifiesScenarioStateWhenStubServed() {
     StubMapping mapping1 =
@@ -442,4 +477,128 @@ public class ScenariosTest {
     assertThat(possibleStates, hasItems("A", "B", "C", "D"));
     assertThat(possibleStates.size(), is(4));
   }
+
+  @Test
+  public void doesNotTransitionWhenScenarioHasLeftTheRequiredState() {
+    StubMapping mapping1 =
+        get("/scenarios/1")
+            .inScenario("one")
+            .whenScenarioStateIs(STARTED)
+            .willSetStateTo("step two")
+            .willReturn(ok())
+            .build();
+    StubMapping mapping2 =
+        get("/scenarios/1")
+            .inScenario("one")
+            .whenScenarioStateIs(STARTED)
+            .willSetStateTo("step three")
+            .willReturn(ok())
+            .build();
+    scenarios.onStubMappingAdded(mapping1);
+    scenarios.onStubMappingAdded(mapping2);
+
+    assertThat(scenarios.tryTransition(mapping1), is(true));
+    assertThat(scenarios.tryTransition(mapping2), is(false));
+    assertThat(scenarios.getByName("one").getState(), is("step two"));
+  }
+
+  @Test
+  public void doesNotLoseTransitionsMadeConcurrently() throws Exception {
+    int stateCount = 5;
+    List<StubMapping> mappings = new ArrayList<>();
+    for (int i = 0; i < stateCount; i++) {
+      StubMapping mapping =
+          get("/scenarios/ring")
+              .inScenario("ring")
+              .whenScenarioStateIs(ringState(i))
+              .willSetStateTo(ringState((i + 1) % stateCount))
+              .willReturn(ok())
+              .build();
+      scenarios.onStubMappingAdded(mapping);
+      mappings.add(mapping);
+    }
+
+    int threadCount = 8;
+    int transitionsPerThread = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                int transitions = 0;
+                while (transitions < transitionsPerThread) {
+                  String state = scenarios.getByName("ring").getState();
+                  StubMapping matched = mappings.get(ringIndex(state));
+                  if (scenarios.tryTransition(matched)) {
+                    transitions++;
+                  }
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, SECONDS);
+    }
+    executor.shutdown();
+
+    int totalTransitions = threadCount * transitionsPerThread;
+    assertThat(
+        scenarios.getByName("ring").getState(), is(ringState(totalTransitions % stateCount)));
+  }
+
+  @Test
+  public void keepsScenarioWhileAnyStubRemainsWhenStubsAreAddedAndRemovedConcurrently()
+      throws Exception {
+    int threadCount = 8;
+    int iterations = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      StubMapping mapping =
+          get("/scenarios/" + t)
+              .inScenario("churn")
+              .whenScenarioStateIs(STARTED)
+              .willReturn(ok())
+              .build();
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < iterations; i++) {
+                  scenarios.onStubMappingAdded(mapping);
+                  assertThat(scenarios.getByName("churn").getMappings(), hasItem(mapping));
+                  scenarios.onStubMappingRemoved(mapping);
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, SECONDS);
+    }
+    executor.shutdown();
+
+    assertThat(scenarios.getByName("churn"), nullValue());
+  }
+
+  @Test
+  public void hashCodeDoesNotChangeAsStubsAreAddedAndRemoved() {
+    StubMapping first =
+        get("/scenarios/1").inScenario("one").whenScenarioStateIs(STARTED).willReturn(ok()).build();
+    StubMapping second =
+        get("/scenarios/2").inScenario("one").whenScenarioStateIs(STARTED).willReturn(ok()).build();
+    scenarios.onStubMappingAdded(first);
+    Scenario scenario = scenarios.getByName("one");
+    int hashCode = scenario.hashCode();
+
+    scenarios.onStubMappingAdded(second);
+    scenarios.onStubMappingRemoved(first);
+
+    assertThat(scenario.hashCode(), is(hashCode));
+  }
+
+  private static String ringState(int index) {
+    return index == 0 ? STARTED : "state " + index;
+  }
+
+  private static int ringIndex(String state) {
+    return state.equals(STARTED) ? 0 : Integer.parseInt(state.substring("state ".length()));
+  }
 }
@@ -20,11 +20,14 @@ import static com.github.tomakehurst.wiremock.http.RequestMethod.ANY;
 import static com.github.tomakehurst.wiremock.matching.RequestPatternBuilder.newRequestPattern;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.hasExactly;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 
 import com.github.tomakehurst.wiremock.http.ResponseDefinition;
 import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
@@ -134,6 +137,79 @@ public class SortedConcurrentMappingSetTest {
     assertThat(it.hasNext(), is(false));
   }
 
+  @Test
+  public void findsMappingsById() {
+    StubMapping one = aMapping(1, "/1");
+    StubMapping two = aMapping(1, "/2");
+    mappingSet.add(one);
+    mappingSet.add(two);
+
+    assertThat(mappingSet.get(one.getId()).get(), is(one));
+    assertThat(mappingSet.get(two.getId()).get(), is(two));
+    assertThat(mappingSet.get(UUID.randomUUID()).isPresent(), is(false));
+    assertThat(mappingSet.get(null).isPresent(), is(false));
+  }
+
+  @Test
+  public void removesMappingsByIdAndThenByRequestPattern() {
+    StubMapping one = aMapping(1, "/1");
+    StubMapping two = aMapping(1, "/2");
+    mappingSet.add(one);
+    mappingSet.add(two);
+
+    StubMapping sameIdDifferentRequest = aMapping(1, "/other");
+    sameIdDifferentRequest.setId(one.getId());
+    assertThat(mappingSet.removeAndGet(sameIdDifferentRequest), contains(one));
+    assertThat(mappingSet.get(one.getId()).isPresent(), is(false));
+
+    StubMapping sameRequestDifferentId = aMapping(1, "/2");
+    assertThat(mappingSet.removeAndGet(sameRequestDifferentId), contains(two));
+    assertThat(mappingSet.get(two.getId()).isPresent(), is(false));
+    assertThat(mappingSet.iterator().hasNext(), is(false));
+  }
+
+  @Test
+  public void keepsIdLookupInSyncWhenReplacing() {
+    StubMapping existingMapping = aMapping(1, "/priority1/1");
+    mappingSet.add(existingMapping);
+
+    StubMapping newMapping = aMapping(2, "/priority2/1");
+    newMapping.setId(existingMapping.getId());
+    mappingSet.replace(existingMapping, newMapping);
+
+    assertThat(mappingSet.get(existingMapping.getId()).get(), is(newMapping));
+
+    mappingSet.clear();
+
+    assertThat(mappingSet.get(existingMapping.getId()).isPresent(), is(false));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void addsAllMappingsInTheSameOrderAsAddingEachInTurn() {
+    mappingSet.add(aMapping(1, "/priority1/1"));
+    StubMapping two = aMapping(1, "/priority1/2");
+    StubMapping three = aMapping(3, "/priority3/1");
+    StubMapping four = aMapping(1, "/priority1/3");
+    StubMapping sameIdAsFour = aMapping(2, "/priority2/1");
+    sameIdAsFour.setId(four.getId());
+
+    mappingSet.addAll(List.of(two, three, four, sameIdAsFour));
+    mappingSet.add(aMapping(3, "/priority3/2"));
+
+    assertThat(
+        mappingSet,
+        hasExactly(
+            requestUrlIs("/priority1/3"),
+            requestUrlIs("/priority1/2"),
+            requestUrlIs("/priority1/1"),
+            requestUrlIs("/priority2/1"),
+            requestUrlIs("/priority3/2"),
+            requestUrlIs("/priority3/1")));
+    assertThat(mappingSet.get(two.getId()).get(), is(two));
+    assertThat(mappingSet.get(four.getId()).get(), is(four));
+  }
+
   private StubMapping aMapping(Integer priority, String url) {
     RequestPattern requestPattern = newRequestPattern(ANY, urlEqualTo(url)).build();
     StubMapping mapping = new StubMapping(requestPattern, new ResponseDefinition());
@@ -23,22 +23,25 @@ import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
 import static com.github.tomakehurst.wiremock.http.Response.response;
 import static com.github.tomakehurst.wiremock.testsupport.WireMatchers.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import static org.skyscreamer.jsonassert.JSONCompareMode.STRICT_ORDER;
 
+import com.github.tomakehurst.wiremock.common.CapturingInputStreamSource;
 import com.github.tomakehurst.wiremock.common.IdGenerator;
-import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.http.*;
 import com.github.tomakehurst.wiremock.matching.MockMultipart;
-import com.github.tomakehurst.wiremock.matching.RequestPattern;
 import com.github.tomakehurst.wiremock.store.BlobStore;
 import com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder;
-import com.github.tomakehurst.wiremock.verification.VerificationResult;
+import com.github.tomakehurst.wiremock.testsupport.TestNotifier;
+import java.io.ByteArrayInputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
@@ -57,15 +60,11 @@ public class StubMappingJsonRecorderTest {
   private BlobStore mappingsBlobStore;
   private BlobStore filesBlobStore;
 
-  private Admin admin;
-
   @BeforeEach
   public void init() {
     mappingsBlobStore = mock(BlobStore.class, "mappingsBlobStore");
     filesBlobStore = mock(BlobStore.class, "filesBlobStore");
 
-    admin = mock(Admin.class);
-
     constructRecordingListener(Collections.emptyList());
   }
 
@@ -74,10 +73,10 @@ public class StubMappingJsonRecorderTest {
         new StubMappingJsonRecorder(
             mappingsBlobStore,
             filesBlobStore,
-            admin,
             headersToRecord.stream()
                 .map(TO_CASE_INSENSITIVE_KEYS)
-                .collect(Collectors.toUnmodifiableList()));
+                .collect(Collectors.toUnmodifiableList()),
+            Runnable::run);
     listener.setIdGenerator(fixedIdGenerator("1$2!3"));
   }
 
@@ -95,9 +94,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void writesMappingFileAndCorrespondingBodyFileOnRequest() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/recorded/content").build();
 
@@ -133,9 +129,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void addsResponseHeaders() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/headered/content").build();
 
@@ -162,22 +155,112 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void doesNotWriteFileIfRequestAlreadyReceived() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(1));
+    Request request =
+        new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/headered/content").build();
+    listener.requestReceived(request, response().fromProxy(true).status(200).build());
+    listener.requestReceived(request, response().fromProxy(true).status(200).build());
+
+    verify(mappingsBlobStore, times(1)).put(any(String.class), any(byte[].class));
+    verify(filesBlobStore, times(1)).put(any(String.class), any(byte[].class));
+  }
+
+  @Test
+  public void writesFileAgainIfRequestReceivedAfterReset() {
+    Request request =
+        new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/headered/content").build();
+    listener.requestReceived(request, response().fromProxy(true).status(200).build());
+    listener.reset();
+    listener.requestReceived(request, response().fromProxy(true).status(200).build());
+
+    verify(mappingsBlobStore, times(2)).put(any(String.class), any(byte[].class));
+    verify(filesBlobStore, times(2)).put(any(String.class), any(byte[].class));
+  }
+
+  @Test
+  public void doesNotWriteFileIfRequestAlreadyReceivedWithoutBeingProxied() {
+    Request request =
+        new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/headered/content").build();
+    listener.requestReceived(request, response().fromProxy(false).status(200).build());
+    listener.requestReceived(request, response().fromProxy(true).status(200).build());
+
+    verifyNoInteractions(mappingsBlobStore);
+    verifyNoInteractions(filesBlobStore);
+  }
+
+  @Test
+  public void writesFilesOnTheWriterRatherThanTheRequestThread() {
+    List<Runnable> scheduledWrites = new ArrayList<>();
+    listener =
+        new StubMappingJsonRecorder(
+            mappingsBlobStore, filesBlobStore, Collections.emptyList(), scheduledWrites::add);
 
     listener.requestReceived(
-        new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/headered/content").build(),
+        new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/first").build(),
+        response().fromProxy(true).status(200).build());
+    listener.requestReceived(
+        new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/second").build(),
         response().fromProxy(true).status(200).build());
 
     verifyNoInteractions(mappingsBlobStore);
+    verifyNoInteractions(filesBlobStore);
+    assertThat(scheduledWrites.size(), is(1));
+
+    scheduledWrites.get(0).run();
+
+    verify(mappingsBlobStore, times(2)).put(any(String.class), any(byte[].class));
+    verify(filesBlobStore, times(2)).put(any(String.class), any(byte[].class));
+  }
+
+  @Test
+  public void reportsWriteFailuresToTheNotifierOfTheRecordedRequest() {
+    List<Runnable> scheduledWrites = new ArrayList<>();
+    listener =
+        new StubMappingJsonRecorder(
+            mappingsBlobStore, filesBlobStore, Collections.emptyList(), scheduledWrites::add);
+    doThrow(new RuntimeException("disk full"))
+        .when(mappingsBlobStore)
+        .put(any(String.class), any(byte[].class));
+
+    TestNotifier notifier = TestNotifier.createAndSet();
+    try {
+      listener.requestReceived(
+          new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/failing").build(),
+          response().fromProxy(true).status(200).build());
+    } finally {
+      notifier.revert();
+    }
+
+    scheduledWrites.get(0).run();
+
+    assertThat(notifier.getErrorMessages(), contains("Failed to write recorded mapping"));
+  }
+
+  @Test
+  public void doesNotWriteFileIfOnlyPartOfTheResponseBodyWasCaptured() throws Exception {
+    CapturingInputStreamSource body =
+        new CapturingInputStreamSource(
+            new ByteArrayInputStream("0123456789".getBytes(UTF_8)), () -> {}, 4);
+    body.getStream().readAllBytes();
+
+    TestNotifier notifier = TestNotifier.createAndSet();
+    try {
+      listener.requestReceived(
+          new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl("/streamed").build(),
+          response().fromProxy(true).status(200).body(body).build());
+    } finally {
+      notifier.revert();
+    }
+
     verifyNoInteractions(mappingsBlobStore);
+    verifyNoInteractions(filesBlobStore);
+    assertThat(
+        notifier.getErrorMessages(),
+        contains(
+            "Not recording mapping for /streamed as only part of its response body was captured"));
   }
 
   @Test
   public void doesNotWriteFileIfResponseNotFromProxy() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Response response = response().status(200).fromProxy(false).build();
 
     listener.requestReceived(
@@ -205,9 +288,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void includesBodyInRequestPatternIfInRequest() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder()
             .withMethod(POST)
@@ -264,9 +344,6 @@ public class StubMappingJsonRecorderTest {
   public void includesHeadersInRequestPatternIfHeaderMatchingEnabled() {
     constructRecordingListener(MATCHING_REQUEST_HEADERS);
 
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request1 =
         new MockRequestBuilder("MockRequestAcceptHtml")
             .withMethod(GET)
@@ -315,9 +392,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void matchesBodyOnEqualToJsonIfJsonInRequestContentTypeHeader() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder()
             .withMethod(POST)
@@ -351,8 +425,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void matchesBodyOnEqualToXmlIfXmlInRequestContentTypeHeader() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
     Request request =
         new MockRequestBuilder()
             .withMethod(POST)
@@ -386,9 +458,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void decompressesGzippedResponseBodyAndRemovesContentEncodingHeader() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder()
             .withHeader("Accept-Encoding", "gzip")
@@ -466,9 +535,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void multipartRequestProcessing() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder()
             .withMethod(RequestMethod.POST)
@@ -511,9 +577,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void multipartRequestProcessingWithNonFileMultipart() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder()
             .withMethod(RequestMethod.POST)
@@ -570,9 +633,6 @@ public class StubMappingJsonRecorderTest {
 
   @Test
   public void sanitisesFilenamesBySwappingSymbolsForUnderscores() {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
-
     Request request =
         new MockRequestBuilder()
             .withMethod(RequestMethod.GET)
@@ -595,8 +655,6 @@ public class StubMappingJsonRecorderTest {
 
   private void assertResultingFileExtension(
       String url, final String expectedExension, String contentTypeHeader) {
-    when(admin.countRequestsMatching((any(RequestPattern.class))))
-        .thenReturn(VerificationResult.withCount(0));
     Request request = new MockRequestBuilder().withMethod(RequestMethod.GET).withUrl(url).build();
 
     byte[] body = new byte[] {1};
@@ -21,13 +21,19 @@ import static com.github.tomakehurst.wiremock.matching.RequestPattern.everything
 import static com.github.tomakehurst.wiremock.testsupport.MockRequestBuilder.aRequest;
 import static com.github.tomakehurst.wiremock.verification.LoggedRequest.createFrom;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 
 import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
 import com.github.tomakehurst.wiremock.matching.RequestMatcherExtension;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -112,6 +118,61 @@ public class InMemoryRequestJournalTest {
         is(0));
   }
 
+  @Test
+  public void findsRequestsByExactUrlAndPathWithOrWithoutJournalSizeLimit() {
+    for (Integer maxEntries : Arrays.asList(null, 10)) {
+      RequestJournal journal = new InMemoryRequestJournal(maxEntries, NO_CUSTOM_MATCHERS);
+      ServeEvent get = eventFor(RequestMethod.GET, "/things?page=1");
+      ServeEvent post = eventFor(RequestMethod.POST, "/things");
+      ServeEvent otherGet = eventFor(RequestMethod.GET, "/other");
+      journal.requestReceived(get);
+      journal.requestReceived(post);
+      journal.requestReceived(otherGet);
+
+      assertThat(
+          journal.countRequestsMatching(getRequestedFor(urlEqualTo("/things?page=1")).build()),
+          is(1));
+      assertThat(
+          journal.countRequestsMatching(getRequestedFor(urlEqualTo("/things")).build()), is(0));
+      assertThat(
+          journal.countRequestsMatching(anyRequestedFor(urlPathEqualTo("/things")).build()),
+          is(2));
+      assertThat(
+          journal.countRequestsMatching(postRequestedFor(urlPathEqualTo("/things")).build()),
+          is(1));
+      assertThat(journal.countRequestsMatching(getRequestedFor(anyUrl()).build()), is(2));
+      assertThat(
+          journal.countRequestsMatching(getRequestedFor(urlPathMatching("/th.*")).build()), is(1));
+      assertThat(
+          journal.getRequestsMatching(getRequestedFor(anyUrl()).build()),
+          contains(get.getRequest(), otherGet.getRequest()));
+    }
+  }
+
+  @Test
+  public void findsServeEventsForStubMapping() {
+    RequestJournal journal = new InMemoryRequestJournal(null, NO_CUSTOM_MATCHERS);
+    StubMapping stub = get("/logging1").build();
+    StubMapping otherStub = get("/logging2").build();
+    ServeEvent first = serveEvent1.withStubMapping(stub);
+    ServeEvent second = serveEvent2.withStubMapping(otherStub);
+    ServeEvent third = serveEvent3.withStubMapping(stub);
+    journal.requestReceived(first);
+    journal.requestReceived(second);
+    journal.requestReceived(third);
+
+    assertThat(journal.getServeEventsForStubMapping(stub.getId()), contains(third, first));
+    assertThat(journal.getServeEventsForStubMapping(UUID.randomUUID()), empty());
+
+    journal.removeEvent(third.getId());
+
+    assertThat(journal.getServeEventsForStubMapping(stub.getId()), contains(first));
+  }
+
+  private static ServeEvent eventFor(RequestMethod method, String url) {
+    return ServeEvent.of(createFrom(aRequest().withMethod(method).withUrl(url).build()));
+  }
+
   private void assertOnlyLastTwoRequestsLeft(RequestJournal journal) {
     assertThat(
         journal.countRequestsMatching(getRequestedFor(urlEqualTo("/logging1")).build()), is(0));
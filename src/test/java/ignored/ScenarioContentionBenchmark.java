@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ignored;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.github.tomakehurst.wiremock.stubbing.InMemoryScenarios;
+import com.github.tomakehurst.wiremock.stubbing.Scenarios;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a single stateful scenario from increasing numbers of threads, each repeatedly matching
+ * the stub for the scenario's current state and applying its transition, as concurrent clients
+ * stepping through the same scenario would. Reports the transition rate and how often a matched
+ * stub had to be re-matched because another thread moved the scenario on first, then checks that
+ * no transition was lost or applied twice.
+ *
+ * <p>Run with e.g.
+ *
+ * <pre>MAX_THREADS=64 DURATION_SECONDS=5 STATES=4 ./gradlew scenarioContentionBenchmark</pre>
+ */
+public class ScenarioContentionBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int maxThreads = envInt("MAX_THREADS", Runtime.getRuntime().availableProcessors() * 2);
+    int durationSeconds = envInt("DURATION_SECONDS", 5);
+    int stateCount = envInt("STATES", 4);
+
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      run(threads, durationSeconds, stateCount);
+    }
+  }
+
+  private static void run(int threads, int durationSeconds, int stateCount) throws Exception {
+    Scenarios scenarios = new InMemoryScenarios();
+    List<StubMapping> mappings = new ArrayList<>();
+    for (int i = 0; i < stateCount; i++) {
+      StubMapping mapping =
+          get("/benchmark")
+              .inScenario("benchmark")
+              .whenScenarioStateIs(state(i))
+              .willSetStateTo(state((i + 1) % stateCount))
+              .willReturn(ok())
+              .build();
+      scenarios.onStubMappingAdded(mapping);
+      mappings.add(mapping);
+    }
+
+    LongAdder transitions = new LongAdder();
+    LongAdder retries = new LongAdder();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch done = new CountDownLatch(threads);
+
+    long start = System.nanoTime();
+    long end = start + SECONDS.toNanos(durationSeconds);
+    for (int t = 0; t < threads; t++) {
+      executor.execute(
+          () -> {
+            while (System.nanoTime() < end) {
+              String currentState = scenarios.getByName("benchmark").getState();
+              StubMapping matched = mappings.get(index(currentState));
+              if (scenarios.tryTransition(matched)) {
+                transitions.increment();
+              } else {
+                retries.increment();
+              }
+            }
+            done.countDown();
+          });
+    }
+
+    done.await();
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+    executor.shutdown();
+
+    long total = transitions.sum();
+    String expectedState = state((int) (total % stateCount));
+    String finalState = scenarios.getByName("benchmark").getState();
+
+    System.out.printf(
+        "%d threads: %.0f transitions/second, %.1f%% re-matched, final state %s%n",
+        threads,
+        total / elapsedSeconds,
+        100.0 * retries.sum() / Math.max(1, total + retries.sum()),
+        finalState.equals(expectedState)
+            ? "consistent"
+            : "INCONSISTENT (expected " + expectedState + ", was " + finalState + ")");
+  }
+
+  private static String state(int index) {
+    return index == 0 ? STARTED : "state-" + index;
+  }
+
+  private static int index(String state) {
+    return state.equals(STARTED) ? 0 : Integer.parseInt(state.substring("state-".length()));
+  }
+
+  private static int envInt(String key, int defaultValue) {
+    String valString = System.getenv(key);
+    return valString != null ? Integer.parseInt(valString) : defaultValue;
+  }
+}
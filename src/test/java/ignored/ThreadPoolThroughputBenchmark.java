@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ignored;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the throughput of the platform thread pool with virtual threads when every request
+ * blocks a container thread. Each request is proxied to an upstream WireMock that delays its
+ * response, so the proxying server holds a thread for the whole round trip.
+ *
+ * <p>Virtual threads need Java 21 or later, so the virtual thread run is skipped on older JVMs. Run
+ * with e.g.
+ *
+ * <pre>
+ * CONCURRENCY=1000 DURATION_SECONDS=20 UPSTREAM_DELAY_MILLISECONDS=100 \
+ *   ./gradlew threadPoolBenchmark -PbenchmarkJavaVersion=21
+ * </pre>
+ */
+public class ThreadPoolThroughputBenchmark {
+
+  private static final int CONTAINER_THREADS = 50;
+
+  public static void main(String[] args) throws Exception {
+    int concurrency = envInt("CONCURRENCY", 1000);
+    int durationSeconds = envInt("DURATION_SECONDS", 20);
+    int upstreamDelayMilliseconds = envInt("UPSTREAM_DELAY_MILLISECONDS", 100);
+
+    WireMockServer upstream = new WireMockServer(configuration());
+    upstream.start();
+    upstream.stubFor(
+        any(anyUrl()).willReturn(ok("upstream").withFixedDelay(upstreamDelayMilliseconds)));
+
+    try {
+      run("Platform threads", configuration(), upstream, concurrency, durationSeconds);
+      if (Runtime.version().feature() >= 21) {
+        run(
+            "Virtual threads",
+            configuration().useVirtualThreads(),
+            upstream,
+            concurrency,
+            durationSeconds);
+      } else {
+        System.out.printf(
+            "Virtual threads: skipped, Java %d doesn't support them%n",
+            Runtime.version().feature());
+      }
+    } finally {
+      upstream.stop();
+    }
+  }
+
+  private static WireMockConfiguration configuration() {
+    return WireMockConfiguration.options()
+        .dynamicPort()
+        .containerThreads(CONTAINER_THREADS)
+        .disableRequestJournal()
+        .notifier(new Slf4jNotifier(false));
+  }
+
+  private static void run(
+      String name,
+      WireMockConfiguration configuration,
+      WireMockServer upstream,
+      int concurrency,
+      int durationSeconds)
+      throws Exception {
+    WireMockServer server = new WireMockServer(configuration);
+    server.start();
+    server.stubFor(any(anyUrl()).willReturn(aResponse().proxiedFrom(upstream.baseUrl())));
+
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(server.baseUrl() + "/benchmark"))
+            .timeout(Duration.ofSeconds(30))
+            .build();
+
+    AtomicInteger succeeded = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    Semaphore inFlight = new Semaphore(concurrency);
+    List<CompletableFuture<?>> outstanding = new ArrayList<>();
+
+    long start = System.nanoTime();
+    long end = start + SECONDS.toNanos(durationSeconds);
+    while (System.nanoTime() < end) {
+      inFlight.acquire();
+      outstanding.add(
+          client
+              .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+              .whenComplete(
+                  (response, error) -> {
+                    if (error == null && response.statusCode() == 200) {
+                      succeeded.incrementAndGet();
+                    } else {
+                      failed.incrementAndGet();
+                    }
+                    inFlight.release();
+                  }));
+      outstanding.removeIf(CompletableFuture::isDone);
+    }
+
+    CompletableFuture.allOf(outstanding.toArray(new CompletableFuture[0]))
+        .exceptionally(e -> null)
+        .join();
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+    server.stop();
+
+    System.out.printf(
+        "%s: %d requests succeeded, %d failed, %.1f requests/second%n",
+        name, succeeded.get(), failed.get(), succeeded.get() / elapsedSeconds);
+  }
+
+  private static int envInt(String key, int defaultValue) {
+    String valString = System.getenv(key);
+    return valString != null ? Integer.parseInt(valString) : defaultValue;
+  }
+}
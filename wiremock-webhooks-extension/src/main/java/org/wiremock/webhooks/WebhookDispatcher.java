@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wiremock.webhooks;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Sends webhook requests asynchronously over pooled keep-alive connections, queueing requests to
+ * any target that already has the maximum number in flight. Nothing here blocks, so webhooks can
+ * be dispatched directly from the thread serving the triggering request.
+ */
+class WebhookDispatcher {
+
+  private final CloseableHttpAsyncClient client;
+  private final int maxConcurrentRequestsPerTarget;
+  private final Map<String, Target> targets = new ConcurrentHashMap<>();
+
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder totalLatencyMillis = new LongAdder();
+  private final LongAccumulator maxLatencyMillis = new LongAccumulator(Math::max, 0);
+
+  WebhookDispatcher(WebhookDispatcherSettings settings, DnsResolver dnsResolver) {
+    this(createHttpClient(settings, dnsResolver), settings.getMaxConcurrentRequestsPerTarget());
+  }
+
+  WebhookDispatcher(CloseableHttpAsyncClient client, int maxConcurrentRequestsPerTarget) {
+    this.client = client;
+    this.maxConcurrentRequestsPerTarget = maxConcurrentRequestsPerTarget;
+    client.start();
+  }
+
+  private static CloseableHttpAsyncClient createHttpClient(
+      WebhookDispatcherSettings settings, DnsResolver dnsResolver) {
+    final Timeout timeout = Timeout.ofMilliseconds(settings.getTimeoutMillis());
+    final HttpVersionPolicy versionPolicy =
+        settings.isHttp2Enabled() ? HttpVersionPolicy.NEGOTIATE : HttpVersionPolicy.FORCE_HTTP_1;
+    return HttpAsyncClients.custom()
+        .disableAuthCaching()
+        .disableAutomaticRetries()
+        .disableCookieManagement()
+        .disableRedirectHandling()
+        .setIOReactorConfig(IOReactorConfig.custom().setSoTimeout(timeout).build())
+        .setDefaultRequestConfig(RequestConfig.custom().setResponseTimeout(timeout).build())
+        .setConnectionManager(
+            PoolingAsyncClientConnectionManagerBuilder.create()
+                .setDefaultConnectionConfig(
+                    ConnectionConfig.custom()
+                        .setConnectTimeout(timeout)
+                        .setSocketTimeout(timeout)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(versionPolicy).build())
+                .setMaxConnPerRoute(settings.getMaxConcurrentRequestsPerTarget())
+                .setMaxConnTotal(1000)
+                .setDnsResolver(dnsResolver)
+                .build())
+        .evictIdleConnections(TimeValue.ofSeconds(30))
+        .build();
+  }
+
+  void dispatch(SimpleHttpRequest request, FutureCallback<SimpleHttpResponse> callback) {
+    final String key = request.getScheme() + "://" + request.getAuthority();
+    targets.computeIfAbsent(key, k -> new Target()).submit(new PendingRequest(request, callback));
+  }
+
+  WebhookMetrics getMetrics() {
+    return new WebhookMetrics(
+        queueDepth.get(),
+        inFlight.get(),
+        completed.sum(),
+        failed.sum(),
+        totalLatencyMillis.sum(),
+        maxLatencyMillis.get());
+  }
+
+  private class Target {
+    private final Queue<PendingRequest> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger();
+
+    void submit(PendingRequest request) {
+      queueDepth.incrementAndGet();
+      pending.add(request);
+      drain();
+    }
+
+    // Whoever adds a request or frees a slot drains afterwards, so a queued request can't be
+    // stranded while a slot is free
+    private void drain() {
+      while (!pending.isEmpty()) {
+        final int current = active.get();
+        if (current >= maxConcurrentRequestsPerTarget) {
+          return;
+        }
+        if (!active.compareAndSet(current, current + 1)) {
+          continue;
+        }
+
+        final PendingRequest next = pending.poll();
+        if (next == null) {
+          active.decrementAndGet();
+          continue;
+        }
+
+        queueDepth.decrementAndGet();
+        send(next);
+      }
+    }
+
+    private void send(PendingRequest request) {
+      inFlight.incrementAndGet();
+      final long start = System.nanoTime();
+      final FutureCallback<SimpleHttpResponse> callback =
+          new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+              final long latencyMillis = NANOSECONDS.toMillis(System.nanoTime() - start);
+              totalLatencyMillis.add(latencyMillis);
+              maxLatencyMillis.accumulate(latencyMillis);
+              completed.increment();
+              release();
+              request.callback.completed(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+              failed.increment();
+              release();
+              request.callback.failed(ex);
+            }
+
+            @Override
+            public void cancelled() {
+              failed.increment();
+              release();
+              request.callback.cancelled();
+            }
+          };
+
+      try {
+        client.execute(request.request, callback);
+      } catch (RuntimeException e) {
+        callback.failed(e);
+      }
+    }
+
+    private void release() {
+      inFlight.decrementAndGet();
+      active.decrementAndGet();
+      drain();
+    }
+  }
+
+  private static class PendingRequest {
+    final SimpleHttpRequest request;
+    final FutureCallback<SimpleHttpResponse> callback;
+
+    PendingRequest(SimpleHttpRequest request, FutureCallback<SimpleHttpResponse> callback) {
+      this.request = request;
+      this.callback = callback;
+    }
+  }
+}
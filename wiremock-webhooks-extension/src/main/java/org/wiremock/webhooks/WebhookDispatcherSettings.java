@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wiremock.webhooks;
+
+/**
+ * Controls how webhook requests are sent. At most {@code maxConcurrentRequestsPerTarget} requests
+ * are in flight to any one scheme, host and port at a time, and further webhooks for that target
+ * wait in a queue. When HTTP/2 is enabled it's negotiated with TLS targets that support it, so
+ * that concurrent webhooks share a single connection; other targets use HTTP/1.1 with keep-alive.
+ */
+public class WebhookDispatcherSettings {
+
+  public static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_TARGET = 50;
+  public static final int DEFAULT_TIMEOUT_MILLIS = 30000;
+
+  public static final WebhookDispatcherSettings DEFAULTS =
+      new WebhookDispatcherSettings(
+          DEFAULT_MAX_CONCURRENT_REQUESTS_PER_TARGET, false, DEFAULT_TIMEOUT_MILLIS);
+
+  private final int maxConcurrentRequestsPerTarget;
+  private final boolean http2Enabled;
+  private final int timeoutMillis;
+
+  public WebhookDispatcherSettings(
+      int maxConcurrentRequestsPerTarget, boolean http2Enabled, int timeoutMillis) {
+    if (maxConcurrentRequestsPerTarget < 1) {
+      throw new IllegalArgumentException(
+          "Maximum concurrent requests per webhook target must be greater than zero");
+    }
+
+    this.maxConcurrentRequestsPerTarget = maxConcurrentRequestsPerTarget;
+    this.http2Enabled = http2Enabled;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  public int getMaxConcurrentRequestsPerTarget() {
+    return maxConcurrentRequestsPerTarget;
+  }
+
+  public boolean isHttp2Enabled() {
+    return http2Enabled;
+  }
+
+  public int getTimeoutMillis() {
+    return timeoutMillis;
+  }
+}
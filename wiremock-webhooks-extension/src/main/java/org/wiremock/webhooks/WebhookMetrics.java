@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wiremock.webhooks;
+
+/**
+ * A point in time snapshot of webhook dispatch. Latencies are measured from the request being sent
+ * to its response being received, so exclude configured delays and time spent queued.
+ */
+public class WebhookMetrics {
+
+  private final int queueDepth;
+  private final int inFlight;
+  private final long completed;
+  private final long failed;
+  private final long totalLatencyMillis;
+  private final long maxLatencyMillis;
+
+  public WebhookMetrics(
+      int queueDepth,
+      int inFlight,
+      long completed,
+      long failed,
+      long totalLatencyMillis,
+      long maxLatencyMillis) {
+    this.queueDepth = queueDepth;
+    this.inFlight = inFlight;
+    this.completed = completed;
+    this.failed = failed;
+    this.totalLatencyMillis = totalLatencyMillis;
+    this.maxLatencyMillis = maxLatencyMillis;
+  }
+
+  /** Webhooks waiting for a free slot under their target's concurrency limit. */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  public int getInFlight() {
+    return inFlight;
+  }
+
+  /** Webhooks that received a response, whatever its status. */
+  public long getCompleted() {
+    return completed;
+  }
+
+  /** Webhooks that failed to connect, timed out or were cancelled. */
+  public long getFailed() {
+    return failed;
+  }
+
+  public long getMeanLatencyMillis() {
+    return completed > 0 ? totalLatencyMillis / completed : 0;
+  }
+
+  public long getMaxLatencyMillis() {
+    return maxLatencyMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "WebhookMetrics{"
+        + "queueDepth="
+        + queueDepth
+        + ", inFlight="
+        + inFlight
+        + ", completed="
+        + completed
+        + ", failed="
+        + failed
+        + ", meanLatencyMillis="
+        + getMeanLatencyMillis()
+        + ", maxLatencyMillis="
+        + maxLatencyMillis
+        + '}';
+  }
+}
@@ -22,6 +22,7 @@ import static java.util.stream.Collectors.toList;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.github.tomakehurst.wiremock.common.NetworkAddressRules;
 import com.github.tomakehurst.wiremock.common.Notifier;
+import com.github.tomakehurst.wiremock.common.TargetAddressCache;
 import com.github.tomakehurst.wiremock.core.Admin;
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.extension.PostServeAction;
@@ -29,53 +30,74 @@ import com.github.tomakehurst.wiremock.extension.responsetemplating.RequestTempl
 import com.github.tomakehurst.wiremock.extension.responsetemplating.TemplateEngine;
 import com.github.tomakehurst.wiremock.http.HttpHeader;
 import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
-import java.net.InetAddress;
 import java.net.URI;
-import java.net.UnknownHostException;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
-import org.apache.hc.core5.http.io.SocketConfig;
-import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
-import org.apache.hc.core5.util.TimeValue;
-import org.apache.hc.core5.util.Timeout;
 
 public class Webhooks extends PostServeAction {
 
   private final ScheduledExecutorService scheduler;
-  private final CloseableHttpClient httpClient;
+  private final WebhookDispatcher dispatcher;
   private final List<WebhookTransformer> transformers;
   private final TemplateEngine templateEngine;
   private final NetworkAddressRules targetAddressRules;
+  private final TargetAddressCache targetAddressCache;
 
   private Webhooks(
       ScheduledExecutorService scheduler,
-      CloseableHttpClient httpClient,
+      WebhookDispatcher dispatcher,
       List<WebhookTransformer> transformers,
-      NetworkAddressRules targetAddressRules) {
+      NetworkAddressRules targetAddressRules,
+      TargetAddressCache targetAddressCache) {
     this.scheduler = scheduler;
-    this.httpClient = httpClient;
+    this.dispatcher = dispatcher;
     this.transformers = transformers;
 
     this.templateEngine = TemplateEngine.defaultTemplateEngine();
     this.targetAddressRules = targetAddressRules;
+    this.targetAddressCache = targetAddressCache;
   }
 
-  private Webhooks(List<WebhookTransformer> transformers, NetworkAddressRules targetAddressRules) {
+  private Webhooks(
+      List<WebhookTransformer> transformers,
+      NetworkAddressRules targetAddressRules,
+      TargetAddressCache targetAddressCache,
+      WebhookDispatcherSettings dispatcherSettings) {
     this(
-        Executors.newScheduledThreadPool(10), createHttpClient(), transformers, targetAddressRules);
+        createScheduler(),
+        new WebhookDispatcher(
+            dispatcherSettings,
+            new TargetAddressDnsResolver(targetAddressCache, targetAddressRules)),
+        transformers,
+        targetAddressRules,
+        targetAddressCache);
   }
 
   public Webhooks(NetworkAddressRules targetAddressRules) {
-    this(new ArrayList<>(), targetAddressRules);
+    this(targetAddressRules, TargetAddressCache.DEFAULT);
+  }
+
+  /**
+   * Pass the server's proxy target address cache ({@link
+   * com.github.tomakehurst.wiremock.core.Options#getProxyTargetAddressCache()}) to share resolved
+   * addresses with the proxy and apply its configured TTLs. The other constructors use {@link
+   * TargetAddressCache#DEFAULT}, which caches for the default TTLs.
+   */
+  public Webhooks(NetworkAddressRules targetAddressRules, TargetAddressCache targetAddressCache) {
+    this(targetAddressRules, targetAddressCache, WebhookDispatcherSettings.DEFAULTS);
+  }
+
+  public Webhooks(
+      NetworkAddressRules targetAddressRules,
+      TargetAddressCache targetAddressCache,
+      WebhookDispatcherSettings dispatcherSettings) {
+    this(new ArrayList<>(), targetAddressRules, targetAddressCache, dispatcherSettings);
   }
 
   @JsonCreator
@@ -84,27 +106,25 @@ public class Webhooks extends PostServeAction {
   }
 
   public Webhooks(WebhookTransformer... transformers) {
-    this(Arrays.asList(transformers), NetworkAddressRules.ALLOW_ALL);
-  }
-
-  private static CloseableHttpClient createHttpClient() {
-    return HttpClientBuilder.create()
-        .disableAuthCaching()
-        .disableAutomaticRetries()
-        .disableCookieManagement()
-        .disableRedirectHandling()
-        .disableContentCompression()
-        .setConnectionManager(
-            PoolingHttpClientConnectionManagerBuilder.create()
-                .setDefaultSocketConfig(
-                    SocketConfig.custom().setSoTimeout(Timeout.ofMilliseconds(30000)).build())
-                .setMaxConnPerRoute(1000)
-                .setMaxConnTotal(1000)
-                .setValidateAfterInactivity(TimeValue.ofSeconds(5)) // TODO Verify duration
-                .build())
-        .setConnectionReuseStrategy((request, response, context) -> false)
-        .setKeepAliveStrategy((response, context) -> TimeValue.ZERO_MILLISECONDS)
-        .build();
+    this(
+        Arrays.asList(transformers),
+        NetworkAddressRules.ALLOW_ALL,
+        TargetAddressCache.DEFAULT,
+        WebhookDispatcherSettings.DEFAULTS);
+  }
+
+  // Only delayed webhooks are scheduled, and the scheduled task merely hands them to the dispatcher
+  private static ScheduledExecutorService createScheduler() {
+    return Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+          final Thread thread = new Thread(runnable, "wiremock-webhook-scheduler");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  public WebhookMetrics getMetrics() {
+    return dispatcher.getMetrics();
   }
 
   @Override
@@ -118,7 +138,7 @@ public class Webhooks extends PostServeAction {
     final Notifier notifier = notifier();
 
     WebhookDefinition definition;
-    ClassicHttpRequest request;
+    SimpleHttpRequest request;
     try {
       definition = WebhookDefinition.from(parameters);
       for (WebhookTransformer transformer : transformers) {
@@ -136,27 +156,44 @@ public class Webhooks extends PostServeAction {
     }
 
     final WebhookDefinition finalDefinition = definition;
-    scheduler.schedule(
-        () -> {
-          try (CloseableHttpResponse response = httpClient.execute(request)) {
+    final FutureCallback<SimpleHttpResponse> callback =
+        new FutureCallback<>() {
+          @Override
+          public void completed(SimpleHttpResponse response) {
+            final String body = response.getBodyText();
             notifier.info(
                 String.format(
                     "Webhook %s request to %s returned status %s\n\n%s",
                     finalDefinition.getMethod(),
                     finalDefinition.getUrl(),
                     response.getCode(),
-                    EntityUtils.toString(response.getEntity())));
-          } catch (Exception e) {
-            notifier()
-                .error(
-                    String.format(
-                        "Failed to fire webhook %s %s",
-                        finalDefinition.getMethod(), finalDefinition.getUrl()),
-                    e);
+                    body != null ? body : ""));
           }
-        },
-        finalDefinition.getDelaySampleMillis(),
-        MILLISECONDS);
+
+          @Override
+          public void failed(Exception e) {
+            notifier.error(
+                String.format(
+                    "Failed to fire webhook %s %s",
+                    finalDefinition.getMethod(), finalDefinition.getUrl()),
+                e);
+          }
+
+          @Override
+          public void cancelled() {
+            notifier.error(
+                String.format(
+                    "Webhook %s %s was cancelled",
+                    finalDefinition.getMethod(), finalDefinition.getUrl()));
+          }
+        };
+
+    final long delayMillis = finalDefinition.getDelaySampleMillis();
+    if (delayMillis > 0) {
+      scheduler.schedule(() -> dispatcher.dispatch(request, callback), delayMillis, MILLISECONDS);
+    } else {
+      dispatcher.dispatch(request, callback);
+    }
   }
 
   private WebhookDefinition applyTemplating(
@@ -197,9 +234,9 @@ public class Webhooks extends PostServeAction {
     return templateEngine.getUncachedTemplate(value).apply(context);
   }
 
-  private static ClassicHttpRequest buildRequest(WebhookDefinition definition) {
-    final ClassicRequestBuilder requestBuilder =
-        ClassicRequestBuilder.create(definition.getMethod()).setUri(definition.getUrl());
+  private static SimpleHttpRequest buildRequest(WebhookDefinition definition) {
+    final SimpleRequestBuilder requestBuilder =
+        SimpleRequestBuilder.create(definition.getMethod()).setUri(definition.getUrl());
 
     for (HttpHeader header : definition.getHeaders().all()) {
       for (String value : header.values()) {
@@ -208,24 +245,15 @@ public class Webhooks extends PostServeAction {
     }
 
     if (definition.getRequestMethod().hasEntity() && definition.hasBody()) {
-      requestBuilder.setEntity(
-          new ByteArrayEntity(definition.getBinaryBody(), ContentType.DEFAULT_BINARY));
+      requestBuilder.setBody(definition.getBinaryBody(), ContentType.DEFAULT_BINARY);
     }
 
     return requestBuilder.build();
   }
 
-  // TODO this is duplicated in com.github.tomakehurst.wiremock.http.ProxyResponseRenderer - should
-  // it be on NetworkAddressRules ?
   private boolean targetAddressProhibited(String url) {
     String host = URI.create(url).getHost();
-    try {
-      final InetAddress[] resolvedAddresses = InetAddress.getAllByName(host);
-      return !Arrays.stream(resolvedAddresses)
-          .allMatch(address -> targetAddressRules.isAllowed(address.getHostAddress()));
-    } catch (UnknownHostException e) {
-      return true;
-    }
+    return !targetAddressCache.isAllowed(host, targetAddressRules);
   }
 
   public static WebhookDefinition webhook() {
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2023 Thomas Akehurst
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package functional;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.http.RequestMethod.POST;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.hc.core5.http.ContentType.TEXT_PLAIN;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.wiremock.webhooks.Webhooks.webhook;
+
+import com.github.tomakehurst.wiremock.common.NetworkAddressRules;
+import com.github.tomakehurst.wiremock.common.TargetAddressCache;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.wiremock.webhooks.WebhookDispatcherSettings;
+import org.wiremock.webhooks.WebhookMetrics;
+import org.wiremock.webhooks.Webhooks;
+import testsupport.WireMockTestClient;
+
+public class WebhookDispatchTest {
+
+  @RegisterExtension
+  public WireMockExtension targetServer =
+      WireMockExtension.newInstance().options(options().dynamicPort()).build();
+
+  Webhooks webhooks =
+      new Webhooks(
+          NetworkAddressRules.ALLOW_ALL,
+          TargetAddressCache.DEFAULT,
+          new WebhookDispatcherSettings(2, false, 30000));
+
+  @RegisterExtension
+  public WireMockExtension extension =
+      WireMockExtension.newInstance().options(options().dynamicPort().extensions(webhooks)).build();
+
+  WireMockTestClient client;
+
+  @BeforeEach
+  public void init() {
+    client = new WireMockTestClient(extension.getPort());
+  }
+
+  @Test
+  public void queuesWebhooksBeyondTheConcurrencyLimitForATarget() {
+    targetServer.stubFor(any(anyUrl()).willReturn(ok().withFixedDelay(1000)));
+    extension.stubFor(
+        post("/trigger")
+            .willReturn(ok())
+            .withPostServeAction(
+                "webhook", webhook().withMethod(POST).withUrl(targetServer.url("/callback"))));
+
+    for (int i = 0; i < 6; i++) {
+      client.post("/trigger", new StringEntity("", TEXT_PLAIN));
+    }
+
+    await().until(() -> webhooks.getMetrics().getQueueDepth(), is(4));
+    assertThat(webhooks.getMetrics().getInFlight(), is(2));
+
+    await().atMost(10, SECONDS).until(() -> webhooks.getMetrics().getCompleted(), is(6L));
+    WebhookMetrics metrics = webhooks.getMetrics();
+    assertThat(metrics.getQueueDepth(), is(0));
+    assertThat(metrics.getInFlight(), is(0));
+    assertThat(metrics.getFailed(), is(0L));
+    assertThat(metrics.getMeanLatencyMillis(), greaterThanOrEqualTo(1000L));
+    targetServer.verify(6, postRequestedFor(urlEqualTo("/callback")));
+  }
+
+  @Test
+  public void countsWebhooksThatCouldNotBeSent() {
+    extension.stubFor(
+        post("/trigger")
+            .willReturn(ok())
+            .withPostServeAction(
+                "webhook", webhook().withMethod(POST).withUrl("http://localhost:1/callback")));
+
+    client.post("/trigger", new StringEntity("", TEXT_PLAIN));
+
+    await().until(() -> webhooks.getMetrics().getFailed(), is(1L));
+    assertThat(webhooks.getMetrics().getCompleted(), is(0L));
+  }
+}